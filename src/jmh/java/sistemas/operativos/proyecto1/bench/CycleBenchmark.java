@@ -0,0 +1,70 @@
+package sistemas.operativos.proyecto1.bench;
+
+import sistemas.operativos.proyecto1.CPU;
+import sistemas.operativos.proyecto1.Config;
+import sistemas.operativos.proyecto1.Output;
+import sistemas.operativos.proyecto1.PlanPolicy;
+import sistemas.operativos.proyecto1.ProcessSpec;
+import sistemas.operativos.proyecto1.Stats;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Un ciclo completo del CPU (llegadas, E/S, planificación y ejecución) por
+ * política, con n procesos que no terminan. El CPU se crea de nuevo en cada
+ * iteración para que los registros de eventos no crezcan sin límite. La
+ * tabla de procesos puede ser columnar.
+ * @author Sebastián
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CycleBenchmark {
+    @Param({"FCFS", "RR", "SPN", "SRT", "PRI", "MFQ"})
+    public PlanPolicy policy;
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean columnar;
+
+    private ProcessSpec[] workload;
+    private CPU cpu;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        workload = Workloads.longRunning(size);
+    }
+
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        Config config = new Config(Integer.MAX_VALUE, 1L, policy, 5);
+        config.setPaced(false);
+        config.setOutput(Output.NONE);
+        config.setColumnarProcesses(columnar);
+        cpu = new CPU(config, new Stats());
+        for (ProcessSpec s : workload) {
+            cpu.createProcess(s.name, s.arrivalTime, s.instructions, s.type, s.cyclesForException, s.cyclesToSatisfy, s.priority);
+        }
+    }
+
+    @Benchmark
+    public void simulateCycle() {
+        cpu.simulateCycle();
+    }
+}
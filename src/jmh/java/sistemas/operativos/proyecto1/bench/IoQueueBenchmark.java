@@ -0,0 +1,73 @@
+package sistemas.operativos.proyecto1.bench;
+
+import sistemas.operativos.proyecto1.lib.IdLinks;
+import sistemas.operativos.proyecto1.lib.IntrusiveList;
+import sistemas.operativos.proyecto1.lib.TimingWheel;
+import sistemas.operativos.proyecto1.process.Process;
+import sistemas.operativos.proyecto1.process.ProcessTable;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Un ciclo de la cola de bloqueados, como en CPU.processIOQueue: se avanza
+ * la rueda un ciclo y los procesos cuya E/S terminó se vuelven a bloquear,
+ * así que siempre hay n procesos en E/S. La tabla de procesos puede ser
+ * columnar.
+ * @author Sebastián
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IoQueueBenchmark {
+    @Param({"10", "1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean columnar;
+
+    private ProcessTable processes;
+    private TimingWheel ioQueue;
+    private IntrusiveList ioDone;
+    private long now;
+    private long seq;
+
+    @Setup
+    public void setup() {
+        processes = new ProcessTable(columnar);
+        ioQueue = new TimingWheel(processes, 0, processes::ioReadyCycle, processes::ioSeq);
+        ioDone = new IntrusiveList(processes);
+        now = 0;
+        seq = 0;
+        for (Process q : Workloads.processes(size)) {
+            Process p = processes.put(q);
+            p.onBlockedIO(now, seq++);
+            ioQueue.schedule(p.pid());
+        }
+    }
+
+    @Benchmark
+    public int processIOQueue() {
+        now++;
+        ioQueue.advanceTo(now, ioDone);
+        int done = 0;
+        for (int pid = ioDone.removeFirst(); pid != IdLinks.NONE; pid = ioDone.removeFirst()) {
+            processes.get(pid).onBlockedIO(now, seq++);
+            ioQueue.schedule(pid);
+            done++;
+        }
+        return done;
+    }
+}
@@ -0,0 +1,86 @@
+package sistemas.operativos.proyecto1.bench;
+
+import sistemas.operativos.proyecto1.lib.LinkedList;
+import sistemas.operativos.proyecto1.lib.PriorityQueue;
+import sistemas.operativos.proyecto1.lib.Queue;
+import sistemas.operativos.proyecto1.process.Process;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Estructuras de la librería con n elementos. Cada operación saca un
+ * elemento y lo vuelve a poner, así que el tamaño no cambia.
+ * @author Sebastián
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class QueueBenchmark {
+    @Param({"10", "1000", "100000", "1000000"})
+    public int size;
+
+    private Queue<Process> queue;
+    private PriorityQueue<Process> heap;
+    private LinkedList<Process> list;
+    private Process middle;
+
+    @Setup
+    public void setup() {
+        Process[] ps = Workloads.processes(size);
+        queue = new Queue<>();
+        heap = new PriorityQueue<>((a, b) -> Integer.compare(b.instructions(), a.instructions()));
+        list = new LinkedList<>();
+        for (Process p : ps) {
+            queue.enqueue(p);
+            heap.add(p);
+            list.addLast(p);
+        }
+        middle = ps[size / 2];
+    }
+
+    @Benchmark
+    public Process queuePollShortestProcess() {
+        Process p = queue.pollShortestProcess();
+        queue.enqueue(p);
+        return p;
+    }
+
+    @Benchmark
+    public Process queuePollPriority() {
+        Process p = queue.pollPriority();
+        queue.enqueue(p);
+        return p;
+    }
+
+    @Benchmark
+    public Process priorityQueuePoll() {
+        Process p = heap.poll();
+        heap.add(p);
+        return p;
+    }
+
+    @Benchmark
+    public Process linkedListGet() {
+        return list.get(size / 2);
+    }
+
+    @Benchmark
+    public boolean linkedListRemove() {
+        boolean removed = list.remove(middle);
+        list.addLast(middle);
+        return removed;
+    }
+}
@@ -0,0 +1,56 @@
+package sistemas.operativos.proyecto1.bench;
+
+import sistemas.operativos.proyecto1.Config;
+import sistemas.operativos.proyecto1.Output;
+import sistemas.operativos.proyecto1.ProcessSpec;
+import sistemas.operativos.proyecto1.Simulator;
+import sistemas.operativos.proyecto1.Stats;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Publicación de métricas con n procesos listos: updateReport (la de cada
+ * ciclo) y printReport (que además copia todas las colas).
+ * @author Sebastián
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReportBenchmark {
+    @Param({"10", "1000", "100000", "1000000"})
+    public int size;
+
+    private Simulator sim;
+
+    @Setup
+    public void setup() {
+        Config config = new Config(Integer.MAX_VALUE, 1L, null, 5);
+        config.setPaced(false);
+        config.setOutput(Output.NONE);
+        sim = new Simulator(new Stats(), config);
+        for (ProcessSpec s : Workloads.longRunning(size)) s.createIn(sim);
+    }
+
+    @Benchmark
+    public void updateReport() {
+        sim.updateReport();
+    }
+
+    @Benchmark
+    public void printReport() {
+        sim.printReport();
+    }
+}
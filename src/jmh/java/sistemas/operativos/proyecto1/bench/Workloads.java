@@ -0,0 +1,45 @@
+package sistemas.operativos.proyecto1.bench;
+
+import sistemas.operativos.proyecto1.ProcessSpec;
+import sistemas.operativos.proyecto1.process.Process;
+import sistemas.operativos.proyecto1.process.ProcessType;
+import java.util.SplittableRandom;
+
+/**
+ * Procesos de prueba para los benchmarks, siempre los mismos para una
+ * cantidad dada.
+ * @author Sebastián
+ */
+final class Workloads {
+    private static final long SEED = 42;
+    /** Suficientes instrucciones para que ningún proceso termine durante una iteración. */
+    static final int LONG_RUNNING = 1 << 30;
+
+    private Workloads() { }
+
+    static Process[] processes(int n) {
+        SplittableRandom r = new SplittableRandom(SEED);
+        Process[] res = new Process[n];
+        for (int i = 0; i < n; i++) {
+            res[i] = Process.create(i, "P" + i, 0, 1 + r.nextInt(1000),
+                    r.nextBoolean() ? ProcessType.CPU_BOUND : ProcessType.IO_BOUND,
+                    1 + r.nextInt(20), 1 + r.nextInt(100), 1 + r.nextInt(5));
+        }
+        return res;
+    }
+
+    /**
+     * Procesos que llegan en el ciclo 0 y no terminan, mitad CPU_BOUND y
+     * mitad IO_BOUND.
+     */
+    static ProcessSpec[] longRunning(int n) {
+        SplittableRandom r = new SplittableRandom(SEED);
+        ProcessSpec[] res = new ProcessSpec[n];
+        for (int i = 0; i < n; i++) {
+            res[i] = new ProcessSpec("P" + i, 0, LONG_RUNNING - r.nextInt(1000),
+                    (i % 2 == 0) ? ProcessType.CPU_BOUND : ProcessType.IO_BOUND,
+                    1 + r.nextInt(20), 1 + r.nextInt(100), 1 + r.nextInt(5));
+        }
+        return res;
+    }
+}
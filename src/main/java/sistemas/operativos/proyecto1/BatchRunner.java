@@ -0,0 +1,262 @@
+package sistemas.operativos.proyecto1;
+
+/**
+ * Ejecución por lotes del simulador, sin interfaz gráfica y sin pausa entre
+ * ciclos. Corre la simulación tan rápido como lo permita el procesador y
+ * reporta ciclos por segundo y las métricas finales.
+ *
+ * Uso:
+ *   BatchRunner [--config archivo] [--policy FCFS|RR|SPN|SRT|PRI|MFQ] [--cycles N] [--quantum Q]
+ *               [--cores N] [--parallel] [--columnar] [--resume archivo] [--checkpoint archivo]
+ *               [--log-file archivo] [--trace archivo] [--import archivo [--preload]]
+ *               [--verbose]
+ *               [--process nombre,llegada,instrucciones,tipo,ciclosExc,ciclosSat,prioridad]...
+ *               [--generate N [--seed S] [--gap D] [--instructions D] [--io-ratio R]
+ *                             [--cfe D] [--cts D] [--priority D]]
+ *
+ * Con --generate se simula una carga sintética de N procesos (ver
+ * {@link WorkloadGenerator}); D es una distribución en el formato de
+ * {@link Distribution#parse(String)}. En ese caso no se guardan los procesos
+ * terminados, para que la memoria no crezca con N.
+ *
+ * Con --import se simula la carga de un archivo CSV o JSON por líneas (ver
+ * {@link WorkloadReader}), que se lee a medida que llegan los procesos (las
+ * llegadas deben estar ordenadas y, como con --generate, no se guardan los
+ * procesos terminados); con --preload se crean todos al inicio, por tandas.
+ *
+ * Con --columnar los datos de los procesos se guardan por columnas (ver
+ * {@link sistemas.operativos.proyecto1.process.ProcessTable}), lo que
+ * reduce la memoria de las cargas con millones de procesos.
+ *
+ * Los mensajes del simulador no se escriben en la consola (ver
+ * {@link Output}), salvo con --verbose.
+ *
+ * Con --config se carga la configuración desde un archivo JSON (ver
+ * {@link ConfigFile}); las opciones que le siguen la modifican. El archivo se
+ * vigila durante la ejecución, así que se puede reajustar la corrida en curso.
+ *
+ * Con --resume se continúa desde un punto de control (ver {@link Checkpoint})
+ * y se ignoran las opciones de configuración; con --checkpoint se guarda uno
+ * al terminar. Con --log-file el registro de eventos se vuelca al archivo
+ * mientras corre la simulación (ver {@link EventLog#startDrain}); con --trace
+ * los eventos del CPU se escriben en una traza binaria (ver
+ * {@link EventTrace}) en lugar de events.log.
+ * @author Sebastián
+ */
+public class BatchRunner {
+    private static final int IMPORT_BATCH = 4096;   // procesos por tanda con --preload
+
+    private final Stats stats;
+    private final Config config;
+    private final Simulator sim;
+
+    /**
+     * Constructor.
+     * @param config Configuración del simulador; se fuerza el modo sin pausa
+     * y sin mensajes en la consola.
+     */
+    public BatchRunner(Config config) {
+        this(new Stats(), config, null);
+    }
+
+    private BatchRunner(Stats stats, Config config, Simulator sim) {
+        this.stats = stats;
+        this.config = config;
+        this.config.setPaced(false);
+        this.config.setOutput(Output.console(Output.Level.WARN));
+        this.sim = (sim != null) ? sim : new Simulator(stats, config);
+    }
+
+    /**
+     * Continúa una simulación desde un punto de control.
+     * @param file Archivo del punto de control.
+     * @throws java.io.IOException Si no se puede leer.
+     */
+    public static BatchRunner resume(java.nio.file.Path file) throws java.io.IOException {
+        Stats stats = new Stats();
+        Simulator sim = Checkpoint.restore(file, stats);
+        return new BatchRunner(stats, sim.getConfig(), sim);
+    }
+
+    public Simulator getSimulator() { return sim; }
+    public Stats getStats() { return stats; }
+
+    /**
+     * Ejecuta la simulación completa.
+     * @return Tiempo transcurrido en nanosegundos.
+     */
+    public long run() {
+        long start = System.nanoTime();
+        sim.startSimulation();
+        long elapsed = System.nanoTime() - start;
+        sim.printReport();
+        return elapsed;
+    }
+
+    /**
+     * Imprime el resumen de la ejecución.
+     * @param elapsedNanos Tiempo transcurrido.
+     */
+    public void printSummary(long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        double cps = (seconds == 0) ? 0 : stats.currentCycle / seconds;
+        System.out.println("Política:            " + config.getPolicy());
+        System.out.println("Ciclos simulados:    " + stats.currentCycle);
+        System.out.printf("Tiempo:              %.3f s%n", seconds);
+        System.out.printf("Ciclos por segundo:  %.0f%n", cps);
+        System.out.println("Procesos completados: " + stats.completedProcesses + " de " + stats.totalProcesses);
+        System.out.printf("Espera promedio:     %.2f%n", stats.avgWait);
+        System.out.printf("Respuesta promedio:  %.2f%n", stats.avgResp);
+        System.out.printf("Retorno promedio:    %.2f%n", stats.avgTurn);
+        System.out.printf("Utilización CPU:     %.1f%%%n", stats.util);
+        if (stats.coreUtil.length > 1) {
+            for (int c = 0; c < stats.coreUtil.length; c++) {
+                System.out.printf("  Núcleo %-2d          %.1f%%%n", c, stats.coreUtil[c]);
+            }
+        }
+        System.out.printf("Throughput:          %.4f%n", stats.throughput);
+        System.out.printf("Equidad (Jain):      %.3f%n", stats.fairness);
+    }
+
+    public static void main(String[] args) {
+        Config config = new Config();
+        java.util.List<String> processes = new java.util.ArrayList<>();
+        long generate = 0, seed = 1;
+        String resume = null, checkpoint = null, logFile = null, configFile = null, importFile = null;
+        boolean preload = false, verbose = false;
+        java.util.Map<String, String> generatorOptions = new java.util.HashMap<>();
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--config" -> {
+                        configFile = args[++i];
+                        ConfigFile.load(config, java.nio.file.Paths.get(configFile));
+                    }
+                    case "--policy" -> config.setPolicy(PlanPolicy.valueOf(args[++i].toUpperCase()));
+                    case "--cycles" -> config.setCyclesAmount(Integer.parseInt(args[++i]));
+                    case "--quantum" -> config.setQuantum(Integer.parseInt(args[++i]));
+                    case "--cores" -> config.setCores(Integer.parseInt(args[++i]));
+                    case "--parallel" -> config.setParallelCores(true);
+                    case "--columnar" -> config.setColumnarProcesses(true);
+                    case "--process" -> processes.add(args[++i]);
+                    case "--resume" -> resume = args[++i];
+                    case "--checkpoint" -> checkpoint = args[++i];
+                    case "--log-file" -> logFile = args[++i];
+                    case "--trace" -> config.setTraceFile(args[++i]);
+                    case "--import" -> importFile = args[++i];
+                    case "--preload" -> preload = true;
+                    case "--verbose" -> verbose = true;
+                    case "--generate" -> generate = Long.parseLong(args[++i]);
+                    case "--seed" -> seed = Long.parseLong(args[++i]);
+                    case "--gap", "--instructions", "--io-ratio", "--cfe", "--cts", "--priority" -> generatorOptions.put(args[i], args[++i]);
+                    default -> throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+                }
+            }
+        } catch (RuntimeException | java.io.IOException e) {
+            System.err.println("Argumentos inválidos: " + e.getMessage());
+            System.err.println("Uso: BatchRunner [--config archivo] [--policy P] [--cycles N] [--quantum Q] [--cores N] [--parallel] [--columnar] [--resume archivo] [--checkpoint archivo] [--log-file archivo] [--trace archivo] [--import archivo [--preload]] [--verbose] [--process nombre,llegada,instrucciones,tipo,ciclosExc,ciclosSat,prioridad]... [--generate N [--seed S] [--gap D] [--instructions D] [--io-ratio R] [--cfe D] [--cts D] [--priority D]]");
+            System.exit(1);
+            return;
+        }
+
+        WorkloadGenerator generator = null;
+        if (generate > 0) {
+            generator = new WorkloadGenerator(seed, generate);
+            try {
+                for (java.util.Map.Entry<String, String> opt : generatorOptions.entrySet()) {
+                    switch (opt.getKey()) {
+                        case "--gap" -> generator.setArrivalGap(Distribution.parse(opt.getValue()));
+                        case "--instructions" -> generator.setInstructions(Distribution.parse(opt.getValue()));
+                        case "--io-ratio" -> generator.setIoBoundRatio(Double.parseDouble(opt.getValue()));
+                        case "--cfe" -> generator.setCyclesForException(Distribution.parse(opt.getValue()));
+                        case "--cts" -> generator.setCyclesToSatisfy(Distribution.parse(opt.getValue()));
+                        case "--priority" -> generator.setPriority(Distribution.parse(opt.getValue()));
+                        default -> { }
+                    }
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Carga sintética inválida: " + e.getMessage());
+                System.exit(1);
+                return;
+            }
+            config.setRetainFinished(false);
+        }
+        if (importFile != null && !preload) config.setRetainFinished(false);
+
+        BatchRunner runner;
+        if (resume != null) {
+            try {
+                runner = resume(java.nio.file.Paths.get(resume));
+            } catch (java.io.IOException e) {
+                System.err.println("No se pudo reanudar desde " + resume + ": " + e.getMessage());
+                System.exit(1);
+                return;
+            }
+        } else {
+            runner = new BatchRunner(config);
+        }
+        if (verbose) runner.getSimulator().getConfig().setOutput(Output.console(Output.Level.DEBUG));
+        if (generator != null) runner.getSimulator().attachSource(generator);
+        WorkloadReader importer = null;
+        if (importFile != null) {
+            try {
+                importer = new WorkloadReader(java.nio.file.Paths.get(importFile));
+                if (preload) {
+                    importer.importInto(runner.getSimulator(), IMPORT_BATCH);
+                } else {
+                    runner.getSimulator().attachSource(importer);
+                }
+            } catch (java.io.IOException | RuntimeException e) {
+                System.err.println("Carga inválida: " + e.getMessage());
+                System.exit(1);
+                return;
+            }
+        }
+        for (String spec : processes) {
+            try {
+                ProcessSpec.parse(spec).createIn(runner.getSimulator());
+            } catch (RuntimeException e) {
+                System.err.println("Proceso inválido \"" + spec + "\": " + e.getMessage());
+                System.exit(1);
+                return;
+            }
+        }
+
+        if (configFile != null) {
+            try {
+                ConfigFile.watch(runner.getSimulator().getConfig(), java.nio.file.Paths.get(configFile));
+            } catch (java.io.IOException e) {
+                System.err.println("No se puede vigilar " + configFile + ": " + e.getMessage());
+            }
+        }
+        if (logFile != null) {
+            try {
+                runner.getStats().logs.startDrain(java.nio.file.Paths.get(logFile));
+            } catch (java.io.IOException e) {
+                System.err.println("No se pudo abrir " + logFile + ": " + e.getMessage());
+                System.exit(1);
+                return;
+            }
+        }
+
+        long elapsed;
+        try {
+            elapsed = runner.run();
+        } catch (IllegalArgumentException | java.io.UncheckedIOException e) {
+            System.err.println("Carga inválida: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        runner.getStats().logs.stopDrain();
+        runner.printSummary(elapsed);
+        if (checkpoint != null) {
+            try {
+                runner.getSimulator().saveCheckpoint(java.nio.file.Paths.get(checkpoint));
+            } catch (java.io.IOException e) {
+                System.err.println("No se pudo guardar " + checkpoint + ": " + e.getMessage());
+                System.exit(1);
+            }
+        }
+    }
+}
@@ -1,71 +1,194 @@
 package sistemas.operativos.proyecto1;
 
-import sistemas.operativos.proyecto1.lib.Queue;
+import sistemas.operativos.proyecto1.lib.BinaryReader;
+import sistemas.operativos.proyecto1.lib.BinaryWriter;
+import sistemas.operativos.proyecto1.lib.IdLinks;
+import sistemas.operativos.proyecto1.lib.IntHeap;
+import sistemas.operativos.proyecto1.lib.IntrusiveList;
 import sistemas.operativos.proyecto1.lib.LinkedList;
+import sistemas.operativos.proyecto1.lib.TimingWheel;
 import sistemas.operativos.proyecto1.process.Process;
+import sistemas.operativos.proyecto1.process.ProcessTable;
 import sistemas.operativos.proyecto1.process.ProcessType;
+import sistemas.operativos.proyecto1.scheduler.QuantumScheduler;
+import sistemas.operativos.proyecto1.scheduler.ReadyQueue;
+import sistemas.operativos.proyecto1.scheduler.Scheduler;
+import java.io.IOException;
+import java.util.concurrent.Phaser;
 import java.util.concurrent.Semaphore;
 
 
 /**
- * Clase CPU del simulador.
+ * Clase CPU del simulador. Tiene uno o más núcleos ({@link Config#getCores()});
+ * cada núcleo tiene su propia cola de listos, su planificador y su proceso en
+ * ejecución. Las llegadas y los procesos que vuelven de E/S van al núcleo
+ * menos cargado, y un núcleo sin trabajo le roba un proceso listo al más
+ * cargado.
+ *
+ * Cada ciclo tiene dos fases: primero, en el hilo de la simulación, llegadas
+ * y fin de E/S; luego cada núcleo planifica y ejecuta. Con
+ * {@link Config#isParallelCores()} la segunda fase corre en un hilo por
+ * núcleo y todos se esperan al final del ciclo.
+ *
+ * Las colas (de listos, de bloqueados, de terminados y de llegadas
+ * pendientes) guardan pids enlazados en la {@link ProcessTable}; con
+ * {@link Config#isColumnarProcesses()} la tabla guarda además los datos de
+ * los procesos por columnas, sin un objeto por proceso.
  * @author Sebastián
  */
     
 public class CPU {
-    private final Queue<Process> readyQueue;
-    private final Queue<Process> ioQueue;
-    private final Queue<Process> finishedQueue;
-    private Process currentProcess;
+    private final ProcessTable processes;   // por pid; sin los terminados si no se guardan
+    private final Core[] cores;
+    private final TimingWheel ioQueue;          // bloqueados, por ciclo en que terminan su E/S
+    private final IntrusiveList ioDone;
+    private long ioSeq = 0;
+    private final IntrusiveList finishedQueue;
+    private final IntHeap pendingArrivals;      // aún no llegan, por tiempo de llegada
+    private ProcessSource source;                           // procesos que se crean al llegar
+    private ProcessSpec nextFromSource;                     // siguiente proceso de la fuente
     private final Config config;
     private final Stats stats;
     private long simulationTime;
-    private long busyCycles = 0;
-    private final Semaphore readyMutex = new Semaphore(1, true);
-    private final Semaphore ioMutex    = new Semaphore(1, true);
-    private final Semaphore cpuMutex   = new Semaphore(1, true);
+    // Orden de adquisición: ioMutex, arrivalsMutex, colas de los núcleos (por índice)
+    private final Semaphore arrivalsMutex = new Semaphore(1, true);
+    private final Semaphore ioMutex       = new Semaphore(1, true);
+    private final Semaphore finishedMutex = new Semaphore(1, true);
     
-    private final LinkedList<Process> allProcesses = new LinkedList<>();
+    // Hilos de los núcleos 1..n-1 (el núcleo 0 corre en el hilo de la simulación)
+    private Phaser cycleBarrier;
+    private Thread[] coreThreads;
+    private volatile Throwable coreFailure;
     
+    private final Metrics metrics = new Metrics();
+    
+    /**
+     * Procesos de la tabla, en orden de pid (sin los terminados si no se
+     * guardan).
+     */
     public LinkedList<Process> getAllProcesses() {
-        return allProcesses;
+        LinkedList<Process> res = new LinkedList<>();
+        processes.forEach(res::addLast);
+        return res;
+    }
+    
+    /**
+     * Busca un proceso por su pid, en O(1).
+     * @return Proceso, o null si no existe (o si terminó y los terminados no
+     * se guardan).
+     */
+    public Process getProcess(int pid) {
+        return processes.get(pid);
+    }
+    
+    /**
+     * Cola en la que está un proceso, en O(1) (ver
+     * {@link ProcessTable#queueOf(int)}).
+     * @return La cola, o null si no está en ninguna.
+     */
+    public Object queueOf(Process p) {
+        return processes.queueOf(p.pid());
     }
     
     // Si true, la E/S la hará un hilo externo (no se llama processIOQueue() desde CPU):
     private volatile boolean externalIOThread = false;
     public void enableExternalIOThread(boolean v) { this.externalIOThread = v; }
     
-    public long getBusyCycles() { return busyCycles; }
+    public long getBusyCycles() {
+        long busy = 0;
+        for (Core core : cores) busy += core.busyCycles;
+        return busy;
+    }
+    public long getBusyCycles(int core) { return cores[core].busyCycles; }
+    public int getCoreCount() { return cores.length; }
+    public Metrics getMetrics() { return metrics; }
     
         //log
-    private final LinkedList<String> eventLog = new LinkedList();
+    private EventLogWriter eventLog;   // events.log; null: no se escribe
+    private EventTrace trace;          // si hay traza, los eventos van ahí y no a events.log
 
-    private void log(String fmt, Object... args) {
-        String line = String.format("[%06d] ", simulationTime) + String.format(fmt, args);
-        eventLog.add(line);
+    private void log(EventTrace.Kind kind, Process p) {
+        log(kind, 0, p, 0, null);
     }
 
-    public String[] getEventLogArray() {
-        int n = eventLog.size();
-        String[] arr = new String[n];
-        for (int i = 0; i < n; i++) {
-            arr[i] = eventLog.get(i);   
+    private synchronized void log(EventTrace.Kind kind, int core, Process p, long aux, Process other) {
+        try {
+            if (trace != null) {
+                trace.append(simulationTime, kind, core, p, (other != null) ? trace.pidOf(other) : aux);
+            } else if (eventLog != null) {
+                eventLog.write(simulationTime, kind.render(simulationTime, core, p.name(), aux, (other != null) ? other.name() : null));
+            }
+        } catch (IOException e) {
+            error("No se pudo escribir el registro de eventos: " + e.getMessage());
+            try {
+                if (trace != null) trace.close();
+                if (eventLog != null) eventLog.close();
+            } catch (IOException ignored) {
+                // ya se informó el error; sólo se liberan los archivos
+            }
+            trace = null;
+            eventLog = null;
         }
-        return arr;
     }
 
+    // Mensajes de consola (ver Output): sólo se arman si alguien los escucha
+    private boolean verbose() { return config.getOutput().isEnabled(Output.Level.INFO); }
+    private void print(String msg) { config.getOutput().write(Output.Level.INFO, msg); }
+    private void error(String msg) {
+        Output out = config.getOutput();
+        if (out.isEnabled(Output.Level.ERROR)) out.write(Output.Level.ERROR, msg);
+    }
+
+    /**
+     * Escribe los eventos en una traza binaria en lugar de events.log (ver
+     * {@link EventTrace}).
+     * @param trace Traza, o null para quitarla.
+     * @return La traza anterior, o null.
+     */
+    public synchronized EventTrace setTrace(EventTrace trace) {
+        EventTrace prev = this.trace;
+        this.trace = trace;
+        return prev;
+    }
+
+    public synchronized EventTrace getTrace() { return trace; }
+
+    /**
+     * Escribe los eventos, a medida que ocurren, en events.log.
+     * @param writer Destino, o null para quitarlo.
+     * @return El destino anterior, o null.
+     */
+    public synchronized EventLogWriter setEventLog(EventLogWriter writer) {
+        EventLogWriter prev = this.eventLog;
+        this.eventLog = writer;
+        return prev;
+    }
+
+    public synchronized EventLogWriter getEventLog() { return eventLog; }
+
     /**
      * Constructor.
      * @param config Configuración del simulador. 
      * @param stats 
      */
     public CPU(Config config, Stats stats) {
-        this.readyQueue = new Queue();
-        this.ioQueue = new Queue();
-        this.finishedQueue = new Queue();
+        this(config, stats, 0);
+    }
+    
+    private CPU(Config config, Stats stats, long simulationTime) {
         this.config = config;
         this.stats = stats;
-        this.simulationTime = 0;
+        ProcessTable table = new ProcessTable(config.isColumnarProcesses());
+        this.processes = table;
+        this.cores = new Core[config.getCores()];
+        for (int i = 0; i < cores.length; i++) {
+            cores[i] = new Core(i);
+        }
+        this.ioQueue = new TimingWheel(table, simulationTime, table::ioReadyCycle, table::ioSeq);
+        this.ioDone = new IntrusiveList(table);
+        this.finishedQueue = new IntrusiveList(table);
+        this.pendingArrivals = new IntHeap(table, table::arrival);
+        this.simulationTime = simulationTime;
     }
     
     public void resetCPUState() {
@@ -73,7 +196,8 @@ public class CPU {
     }
     
     /**
-     * Crea un proceso y lo pone en la cola de listos.
+     * Crea un proceso y lo pone en la cola de listos, o en la de llegadas
+     * pendientes si su tiempo de llegada aún no se alcanza.
      * @param name Nombre del proceso.
      * @param arrivalTime Tiempo de llegada del proceso.
      * @param instructions Cantidad de instrucciones del proceso.
@@ -83,514 +207,855 @@ public class CPU {
      * @param priority Nivel de prioridad del proceso.
      */
     public void createProcess(String name, int arrivalTime, int instructions, ProcessType type, int cyclesForException, int cyclesToSatisfy, int priority) {
-        String id = java.time.LocalTime.now().toString();
-        
-        Process process = new Process(id, name, arrivalTime, instructions, type, cyclesForException, cyclesToSatisfy, priority);
-        
-        allProcesses.add(process);
-        
-        process.onEnqueuedReady((int) simulationTime);
-        readyMutex.acquireUninterruptibly();
+        Process process;
+        boolean arrived;
+        arrivalsMutex.acquireUninterruptibly();
 
         try {
-            readyQueue.enqueue(process);
+            process = newProcess(name, arrivalTime, instructions, type, cyclesForException, cyclesToSatisfy, priority);
+            arrived = arrivalTime <= simulationTime;
+            if (arrived) {
+                process.onEnqueuedReady((int) simulationTime);
+                enqueueReady(process, true);
+            } else {
+                pendingArrivals.add(process.pid());
+            }
         } finally {
-            readyMutex.release();
+            arrivalsMutex.release();
+        }
+        if (arrived) {
+            stats.log(LogEvent.CREATED_READY, process);
+        } else {
+            stats.log(LogEvent.CREATED_PENDING, process, arrivalTime);
         }
-        stats.addLog("Proceso \"" + process.name() + "\" ha hizo creado y se ha puesto en la cola de listos.");
-        System.out.println("Proceso creado: " + name);  
+        if (verbose()) print("Proceso creado: " + name);
     }
-
+    
     /**
-     * Política de planificación FCFS (First-Come First-Served)
-     * 
-     * Se ejecutan los procesos tal cual como se van añadiendo a la cola de listos.
+     * Crea varios procesos de una vez. A diferencia de llamar
+     * {@link #createProcess} por cada uno, toma el candado de llegadas una
+     * sola vez, el de cada núcleo a lo sumo una vez y deja una sola entrada
+     * en el registro; así cargar una carga grande no frena a la simulación en
+     * curso.
+     * @param batch Procesos por crear.
+     * @param count Cantidad de procesos de batch que se usan (los primeros).
      */
-    public void simulateCycleFCFS() {
-        simulationTime++;
-        
-        // 1. Procesar I/O
-        if (!externalIOThread) {
-            processIOQueue();
-        }
-        
-        // 2. Planificar siguiente proceso (si no hay uno actual)
-        if (currentProcess == null || currentProcess.isFinished() || currentProcess.isBlockedIO()) {
-            scheduleNextProcess();
-        }
+    public void submitBatch(ProcessSpec[] batch, int count) {
+        if (count <= 0) return;
+        Process[] ready = new Process[count];
+        int readyCount = 0;
         
-        if (currentProcess != null && (currentProcess.isReady() || currentProcess.isRunning())) {
-            if (!currentProcess.isRunning()) stats.addLog("Proceso \"" + currentProcess.name() + "\" se ha puesto en ejecución.");
-            currentProcess.setRunning();
-            boolean executed = currentProcess.executeInstruction();
-            if (executed) busyCycles++; 
-
-            if (currentProcess.isBlockedIO()) {
-                currentProcess.setBlocked(); 
-                ioMutex.acquireUninterruptibly();
-                try{
-                    ioQueue.enqueue(currentProcess);
-                } finally {
-                    ioMutex.release();
+        arrivalsMutex.acquireUninterruptibly();
+        try {
+            for (int i = 0; i < count; i++) {
+                Process p = buildProcess(batch[i].name, batch[i].arrivalTime, batch[i].instructions, batch[i].type,
+                        batch[i].cyclesForException, batch[i].cyclesToSatisfy, batch[i].priority);
+                if (p.arrival() <= simulationTime) {
+                    p.onEnqueuedReady((int) simulationTime);
+                    ready[readyCount++] = p;
+                } else {
+                    pendingArrivals.add(p.pid());
                 }
-                
-                System.out.println("Proceso " + currentProcess.name() + " bloqueado.");
-                stats.addLog("Proceso \"" + currentProcess.name() + "\" se ha bloqueado y puesto en la cola de bloqueados.");
-                currentProcess = null;
-                
-            } else if (currentProcess.isFinished()) {
-                config.resetRemainingQuantum();
-                currentProcess.setFinishTime((int) simulationTime);   //guarda fin
-                
-                finishedQueue.enqueue(currentProcess);
-                this.stats.setFinishedQueue(finishedQueue.toLinkedList());
-                
-                System.out.println("¡Proceso " + currentProcess.name() + " terminado! :)");
-                stats.addLog("Proceso \"" + currentProcess.name() + "\" se ha terminado y puesto en la cola de terminados.");
-                currentProcess = null;
-            } 
-        
-        
-            // 4. Esperar según la duración del ciclo configurada
-            try {
-                Thread.sleep(config.getCycleDuration());
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
             }
+            enqueueReady(ready, readyCount);
+        } finally {
+            arrivalsMutex.release();
         }
+        metrics.onProcessesCreated(count);
+        stats.log(LogEvent.CREATED_BATCH, null, count);
+        if (verbose()) print("Procesos creados: " + count);
+    }
+    
+    private Process buildProcess(String name, int arrivalTime, int instructions, ProcessType type, int cyclesForException, int cyclesToSatisfy, int priority) {
+        return processes.add(name, arrivalTime, instructions, type, cyclesForException, cyclesToSatisfy, priority);
+    }
+    
+    /** Crea un proceso y lo cuenta; debe llamarse con arrivalsMutex tomado. */
+    private Process newProcess(String name, int arrivalTime, int instructions, ProcessType type, int cyclesForException, int cyclesToSatisfy, int priority) {
+        Process process = buildProcess(name, arrivalTime, instructions, type, cyclesForException, cyclesToSatisfy, priority);
+        metrics.onProcessCreated();
+        return process;
     }
     
     /**
-     * Política de planificación RR (Round Robin)
-     * 
-     * Se ejecutan los procesos con un valor "Quantum" asignado a cada uno de
-     * los procesos de forma equitativa, y por cada ciclo se va disminuyendo en
-     * uno. Si el "Quantum" del proceso llega a 0, se expulsa del CPU y se añade
-     * al final de la cola de listos.
+     * Conecta una fuente de procesos. Cada proceso se crea recién en el ciclo
+     * en que llega, así que sólo se mantiene en memoria uno por adelantado.
+     * Los que ya llegaron se crean de inmediato, como con
+     * {@link #createProcess}.
+     * @param source Fuente, con tiempos de llegada no decrecientes.
      */
-    public void simulateCycleRR() {
-        simulationTime++;
-        
-        // 1. Procesar I/O
-        if (!externalIOThread) {
-            processIOQueue();
+    public void attachSource(ProcessSource source) {
+        arrivalsMutex.acquireUninterruptibly();
+        try {
+            this.source = source;
+            this.nextFromSource = source.next();
+            while (nextFromSource != null && nextFromSource.arrivalTime <= simulationTime) {
+                Process p = fromSource();
+                p.onEnqueuedReady((int) simulationTime);
+                enqueueReady(p, true);
+            }
+        } finally {
+            arrivalsMutex.release();
         }
-        
-        // 2. Planificar siguiente proceso (si no hay uno actual)
-        if (currentProcess == null || currentProcess.isFinished() || currentProcess.isBlockedIO()) {
-            scheduleNextProcess();
+    }
+    
+    /**
+     * Indica si hay una fuente de procesos conectada que aún no se agotó. Su
+     * posición no se puede guardar en un punto de control, así que los
+     * procesos que le faltan se perderían.
+     */
+    boolean hasPendingSource() {
+        arrivalsMutex.acquireUninterruptibly();
+        try {
+            return nextFromSource != null;
+        } finally {
+            arrivalsMutex.release();
         }
-        
-        if (currentProcess != null && (currentProcess.isReady() || currentProcess.isRunning())) {
-            if (!currentProcess.isRunning()) stats.addLog("Proceso \"" + currentProcess.name() + "\" se ha puesto en ejecución.");
-            currentProcess.setRunning();
-            boolean executed = currentProcess.executeInstruction();
-            if (executed) busyCycles++; 
-            
-            if (config.getRemainingQuantum() == 0) {
-                config.resetRemainingQuantum();
-                readyQueue.enqueue(currentProcess);
-                
-                stats.addLog("Se ha terminado el quantum para el proceso \"" + currentProcess.name() + "\" y se ha puesto en la cola de listos.");
-                currentProcess = null;
-            } else {
-                config.reduceRemainingQuantum();
+    }
+    
+    /**
+     * Crea el siguiente proceso de la fuente y lee el que le sigue.
+     */
+    private Process fromSource() {
+        ProcessSpec s = nextFromSource;
+        nextFromSource = source.next();
+        return newProcess(s.name, s.arrivalTime, s.instructions, s.type, s.cyclesForException, s.cyclesToSatisfy, s.priority);
+    }
+    
+    /**
+     * Pone un proceso en la cola de listos del núcleo menos cargado (el de
+     * menos procesos listos más el que ejecuta; en empate, el de menor
+     * índice).
+     * @param p Proceso listo.
+     * @param arrival Si true, el núcleo revisa la expropiación en este ciclo.
+     */
+    private void enqueueReady(Process p, boolean arrival) {
+        Core target = cores[0];
+        int best = Integer.MAX_VALUE;
+        for (Core core : cores) {
+            int load = core.load();
+            if (load < best) {
+                best = load;
+                target = core;
             }
-
-            if (currentProcess != null) {
-                if (currentProcess.isBlockedIO()) {
-                    currentProcess.setBlocked(); 
-                    ioMutex.acquireUninterruptibly();
-                    try{
-                        ioQueue.enqueue(currentProcess);
-                    } finally {
-                        ioMutex.release();
-                    }
-
-                    System.out.println("Proceso " + currentProcess.name() + " bloqueado.");
-                    stats.addLog("Proceso \"" + currentProcess.name() + "\" se ha bloqueado y puesto en la cola de bloqueados.");
-                    currentProcess = null;
-
-                } else if (currentProcess.isFinished()) {
-                    config.resetRemainingQuantum();
-                    currentProcess.setFinishTime((int) simulationTime);   //guarda fin
-
-                    finishedQueue.enqueue(currentProcess);
-                    this.stats.setFinishedQueue(finishedQueue.toLinkedList());
-
-                    System.out.println("¡Proceso " + currentProcess.name() + " terminado! :)");
-                    stats.addLog("Proceso \"" + currentProcess.name() + "\" se ha terminado y puesto en la cola de terminados.");
-                    currentProcess = null;
-                } 
+        }
+        target.readyMutex.acquireUninterruptibly();
+        try {
+            target.readyQueue.offer(p);
+            if (arrival) target.readyArrivals = true;
+        } finally {
+            target.readyMutex.release();
+        }
+    }
+    
+    /**
+     * Reparte varios procesos listos como lo haría {@link #enqueueReady}
+     * con cada uno (como llegadas), pero bloqueando cada cola una sola vez.
+     * @param ps Procesos listos.
+     * @param n Cantidad de procesos de ps.
+     */
+    private void enqueueReady(Process[] ps, int n) {
+        if (n == 0) return;
+        int[] load = new int[cores.length];
+        for (int c = 0; c < cores.length; c++) load[c] = cores[c].load();
+        int[] target = new int[n];
+        int[] assigned = new int[cores.length];
+        for (int i = 0; i < n; i++) {
+            int best = 0;
+            for (int c = 1; c < cores.length; c++) {
+                if (load[c] < load[best]) best = c;
             }
-        
-        
-            // 4. Esperar según la duración del ciclo configurada
+            target[i] = best;
+            load[best]++;
+            assigned[best]++;
+        }
+        for (int c = 0; c < cores.length; c++) {
+            if (assigned[c] == 0) continue;
+            Core core = cores[c];
+            core.readyMutex.acquireUninterruptibly();
             try {
-                Thread.sleep(config.getCycleDuration());
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+                for (int i = 0; i < n; i++) {
+                    if (target[i] == c) core.readyQueue.offer(ps[i]);
+                }
+                core.readyArrivals = true;
+            } finally {
+                core.readyMutex.release();
             }
         }
     }
     
     /**
-     * Política de planificación SPN (Shortest Process Next)
-     * 
-     * Se ejecutan los procesos con la menor cantidad de instrucciones primero,
-     * ejecutando los más pequeños primero y progresivamente ejecutando los
-     * procesos con mayor cantidad de instrucciones.
+     * Pasa a la cola de listos los procesos cuyo tiempo de llegada ya se
+     * alcanzó.
      */
-    public void simulateCycleSPN() {
+    private void releaseArrivals() {
+        boolean fromSource = nextFromSource != null && nextFromSource.arrivalTime <= simulationTime;
+        if (pendingArrivals.isEmpty() && !fromSource) return;
+        arrivalsMutex.acquireUninterruptibly();
+        try {
+            while (nextFromSource != null && nextFromSource.arrivalTime <= simulationTime) {
+                pendingArrivals.add(fromSource().pid());
+            }
+            while (!pendingArrivals.isEmpty() && pendingArrivals.peekKey() <= simulationTime) {
+                Process p = processes.get(pendingArrivals.poll());
+                p.onEnqueuedReady((int) simulationTime);
+                enqueueReady(p, true);
+                stats.log(LogEvent.ARRIVED, p);
+            }
+        } finally {
+            arrivalsMutex.release();
+        }
+    }
+    
+    /**
+     * Adelanta el tiempo de simulación sobre los ciclos en los que no puede
+     * ocurrir nada relevante, aplicándolos de una vez. Se detiene en el ciclo
+     * anterior al próximo evento (llegada, fin de E/S, excepción de E/S o fin
+     * de algún proceso en ejecución, o fin de quantum), que luego se simula de
+     * la forma normal; así las métricas son idénticas a avanzar ciclo a ciclo.
+     * No salta nada si hay llegadas a una cola de listos aún sin revisar.
+     *
+     * Con pausa entre ciclos sólo se saltan ciclos ociosos (que de todas
+     * formas no esperan).
+     * @param limit Máximo de ciclos a saltar.
+     * @return Cantidad de ciclos saltados.
+     */
+    public long fastForward(long limit) {
+        if (externalIOThread) return 0;
+        syncScheduler();
+        ioMutex.acquireUninterruptibly();
+        arrivalsMutex.acquireUninterruptibly();
+        for (Core core : cores) core.readyMutex.acquireUninterruptibly();
+        try {
+            long horizon = limit;
+            if (!pendingArrivals.isEmpty()) {
+                horizon = Math.min(horizon, pendingArrivals.peekKey() - 1 - simulationTime);
+            }
+            if (nextFromSource != null) {
+                horizon = Math.min(horizon, nextFromSource.arrivalTime - 1 - simulationTime);
+            }
+            if (!ioQueue.isEmpty()) {
+                horizon = Math.min(horizon, ioQueue.nextDeadlineLowerBound() - 1 - simulationTime);
+            }
+            
+            boolean anyRunning = false, anyIdle = false;
+            int ready = 0;
+            for (Core core : cores) {
+                // Una llegada entre ciclos (desde la interfaz o submitBatch)
+                // se revisa para expropiar en el ciclo siguiente
+                if (core.readyArrivals) return 0;
+                ready += core.readyQueue.size();
+                Process current = core.currentProcess;
+                if (current == null) {
+                    anyIdle = true;
+                    continue;
+                }
+                if (config.isPaced() || !current.isRunning()) return 0;
+                anyRunning = true;
+                horizon = Math.min(horizon, current.cyclesUntilEvent() - 1);
+                horizon = Math.min(horizon, core.scheduler.quietTicks());
+            }
+            // Un núcleo ocioso despacharía (o robaría) cualquier proceso listo
+            if (anyIdle && ready > 0) return 0;
+            if (!anyRunning && pendingArrivals.isEmpty() && nextFromSource == null && ioQueue.isEmpty()) return 0;
+            if (horizon <= 0) return 0;
+            
+            simulationTime += horizon;
+            for (Core core : cores) {
+                if (core.currentProcess == null) continue;
+                core.currentProcess.executeInstructions((int) horizon);
+                core.busyCycles += horizon;
+                core.scheduler.onTicks(horizon);
+            }
+            return horizon;
+        } finally {
+            for (int i = cores.length - 1; i >= 0; i--) cores[i].readyMutex.release();
+            arrivalsMutex.release();
+            ioMutex.release();
+        }
+    }
+
+    /**
+     * Simula un ciclo del procesador. Las decisiones propias de cada política
+     * (qué proceso despachar, cuándo expulsarlo) se delegan en el
+     * planificador de cada núcleo; si la política cambia, aplica desde este
+     * ciclo.
+     */
+    public void simulateCycle() {
+        syncScheduler();
         simulationTime++;
         
+        // 0. Llegadas
+        releaseArrivals();
+        
         // 1. Procesar I/O
         if (!externalIOThread) {
             processIOQueue();
         }
         
-        // 2. Planificar siguiente proceso (si no hay uno actual)
-        if (currentProcess == null || currentProcess.isFinished() || currentProcess.isBlockedIO()) {
-            scheduleNextProcessShortestProcess();
+        // 2. Cada núcleo planifica, ejecuta y asienta el resultado. Sólo la
+        //    ejecución puede ir en paralelo: lo que toca estado compartido
+        //    (robos, colas de E/S y de terminados, métricas, registro) va en
+        //    orden de núcleo, así que el resultado no depende de los hilos.
+        for (Core core : cores) core.schedule();
+        if (cores.length > 1 && config.isParallelCores()) {
+            executeCoresInParallel();
+        } else {
+            for (Core core : cores) core.execute();
         }
+        for (Core core : cores) core.settle();
         
-        if (currentProcess != null && (currentProcess.isReady() || currentProcess.isRunning())) {
-            if (!currentProcess.isRunning()) stats.addLog("Proceso \"" + currentProcess.name() + "\" se ha puesto en ejecución.");
-            currentProcess.setRunning();
-            boolean executed = currentProcess.executeInstruction();
-            if (executed) busyCycles++; 
-
-            if (currentProcess.isBlockedIO()) {
-                currentProcess.setBlocked(); 
-                ioMutex.acquireUninterruptibly();
-                try{
-                    ioQueue.enqueue(currentProcess);
-                } finally {
-                    ioMutex.release();
+        // 3. Esperar según la duración del ciclo configurada
+        for (Core core : cores) {
+            if (core.executed) {
+                pace();
+                break;
+            }
+        }
+    }
+    
+    /**
+     * Ejecuta la fase de ejecución de los núcleos con un hilo por núcleo.
+     * Todos esperan en una barrera al inicio y al final de la fase, así que
+     * las fases en orden de núcleo nunca corren a la vez que un núcleo.
+     */
+    private void executeCoresInParallel() {
+        if (coreThreads == null) startCoreThreads();
+        awaitCores();
+        cores[0].execute();
+        awaitCores();
+    }
+    
+    private void awaitCores() {
+        if (cycleBarrier.arriveAndAwaitAdvance() < 0) {
+            Throwable cause = coreFailure;
+            stopCoreThreads();
+            throw new IllegalStateException("Falló un hilo de núcleo", cause);
+        }
+    }
+    
+    private void startCoreThreads() {
+        Phaser barrier = new Phaser(cores.length);
+        coreFailure = null;
+        cycleBarrier = barrier;
+        coreThreads = new Thread[cores.length - 1];
+        for (int i = 1; i < cores.length; i++) {
+            Core core = cores[i];
+            Thread t = new Thread(() -> {
+                try {
+                    while (barrier.arriveAndAwaitAdvance() >= 0) {
+                        core.execute();
+                        if (barrier.arriveAndAwaitAdvance() < 0) return;
+                    }
+                } catch (RuntimeException | Error e) {
+                    coreFailure = e;
+                    barrier.forceTermination();
                 }
+            }, "core-" + i);
+            t.setDaemon(true);
+            coreThreads[i - 1] = t;
+            t.start();
+        }
+    }
+    
+    /**
+     * Termina los hilos de los núcleos, si los hay. Se vuelven a crear en el
+     * siguiente ciclo paralelo. Debe llamarse desde el hilo de la simulación,
+     * entre ciclos.
+     */
+    public void stopCoreThreads() {
+        if (coreThreads == null) return;
+        cycleBarrier.forceTermination();
+        cycleBarrier = null;
+        coreThreads = null;
+    }
+    
+    /**
+     * Espera la duración de ciclo configurada, salvo en modo sin pausa
+     * (ejecución por lotes).
+     */
+    private void pace() {
+        if (!config.isPaced()) return;
+        try {
+            Thread.sleep(config.getCycleDuration());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     *
+     *   Manejadores de procesos e IO
+     *
+     */
+    
+    /**
+     * Avanza la cola de IO hasta el ciclo actual. Sólo se tocan los procesos
+     * cuya petición de IO se satisface en este ciclo; esos se desbloquean y
+     * se añaden de vuelta a la cola de listos.
+     */
+    private void processIOQueue() {
+        ioQueue.advanceTo(simulationTime, ioDone);
+        for (int pid = ioDone.removeFirst(); pid != IdLinks.NONE; pid = ioDone.removeFirst()) {
+            Process p = processes.get(pid);
+            p.completeIO();
+            p.onEnqueuedReady((int) simulationTime);
+            
+            enqueueReady(p, true);               // vuelve a READY
+            
+            stats.log(LogEvent.IO_DONE, p);
+            stats.log(LogEvent.IO_READY, p);
+            if (verbose()) print("I/O completado para: " + p.name() + ". Poniendo en cola de listos.");
+        }
+    }
+    
+    public void processIOCycleOneTick() {
+        ioMutex.acquireUninterruptibly();
+        try {
+            ioQueue.advanceTo(simulationTime, ioDone);
+            for (int pid = ioDone.removeFirst(); pid != IdLinks.NONE; pid = ioDone.removeFirst()) {
+                Process p = processes.get(pid);
+                p.completeIO();
+                p.onEnqueuedReady((int) simulationTime);
                 
-                System.out.println("Proceso " + currentProcess.name() + " bloqueado.");
-                stats.addLog("Proceso \"" + currentProcess.name() + "\" se ha bloqueado y puesto en la cola de bloqueados.");
-                currentProcess = null;
-                
-            } else if (currentProcess.isFinished()) {
-                config.resetRemainingQuantum();
-                currentProcess.setFinishTime((int) simulationTime);   //guarda fin
-                
-                finishedQueue.enqueue(currentProcess);
-                this.stats.setFinishedQueue(finishedQueue.toLinkedList());
-                
-                System.out.println("¡Proceso " + currentProcess.name() + " terminado! :)");
-                stats.addLog("Proceso \"" + currentProcess.name() + "\" se ha terminado y puesto en la cola de terminados.");
-                currentProcess = null;
-            } 
-        
-
-            // 4. Esperar según la duración del ciclo configurada
-            try {
-                Thread.sleep(config.getCycleDuration());
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+                log(EventTrace.Kind.IO_DONE, p);
+         
+                enqueueReady(p, true);
+                if (verbose()) print("I/O completado para: " + p.name() + ". Poniendo en cola de listos.");
             }
+        } finally {
+            ioMutex.release();
         }
     }
     
     /**
-     * Política de planificación PRI (Por prioridades; mayor número, mayor prioridad)
-     * 
-     * Se ejecutan los procesos que se van sacando de la cola de prioridad de
-     * listos. Conforme se van sacando procesos de la cola, van saliendo los
-     * que mayor nivel de prioridad tienen, y van quedando los que menor
-     * prioridad tienen.
+     * Saca un proceso de la cola en la que esté (listos de algún núcleo,
+     * bloqueados o terminados) sin recorrerla. Sirve para eliminar o suspender
+     * un proceso arbitrario.
+     * @param p Proceso a sacar.
+     * @return Booleano determinando si el proceso estaba en alguna cola.
      */
-    public void simulateCyclePRI() {
-        simulationTime++;
+    public boolean removeProcess(Process p) {
+        ioMutex.acquireUninterruptibly();
+        try {
+            for (Core core : cores) {
+                core.readyMutex.acquireUninterruptibly();
+                try {
+                    if (core.readyQueue.remove(p)) return true;
+                } finally {
+                    core.readyMutex.release();
+                }
+            }
+            if (ioQueue.remove(p.pid())) return true;
+        } finally {
+            ioMutex.release();
+        }
+        finishedMutex.acquireUninterruptibly();
+        try {
+            return finishedQueue.remove(p.pid());
+        } finally {
+            finishedMutex.release();
+        }
+    }
+    
+    /**
+     * Si la política cambió (desde la GUI), cada núcleo cambia de
+     * planificador y pasa sus procesos listos a la cola de la nueva política.
+     */
+    private void syncScheduler() {
+        PlanPolicy policy = config.getPolicy();
+        for (Core core : cores) core.sync(policy);
+    }
+    
+    /**
+     * Núcleo del procesador: su cola de listos, su planificador (con su propio
+     * quantum) y su proceso en ejecución. Cada ciclo tiene tres fases:
+     * {@link #schedule()} y {@link #settle()} corren en el hilo de la
+     * simulación, en orden de núcleo; sólo {@link #execute()} puede correr en
+     * el hilo del núcleo. La cola de listos se protege con readyMutex porque
+     * otros hilos (la interfaz, el hilo de E/S externo) también la usan.
+     */
+    private final class Core {
+        private final int id;
+        private Scheduler scheduler;
+        private ReadyQueue readyQueue;
+        private Process currentProcess;
+        private long busyCycles = 0;
+        private volatile boolean readyArrivals = false;   // llegó algún proceso a su cola (lo escriben otros hilos)
+        private boolean executed = false;        // ejecutó un proceso en este ciclo
+        private final Semaphore readyMutex = new Semaphore(1, true);
         
-        // 1. Procesar I/O
-        if (!externalIOThread) {
-            processIOQueue();
+        Core(int id) {
+            this.id = id;
+            this.scheduler = Scheduler.forPolicy(config.getPolicy(), config, stats);
+            this.readyQueue = scheduler.newReadyQueue(processes);
         }
         
-        // 2. Planificar siguiente proceso (si no hay uno actual)
-        if (currentProcess == null || currentProcess.isFinished() || currentProcess.isBlockedIO()) {
-            scheduleNextProcessPriority();
+        /** Procesos listos más el que está en ejecución. */
+        int load() {
+            return readyQueue.size() + (currentProcess != null ? 1 : 0);
         }
         
-        if (currentProcess != null && (currentProcess.isReady() || currentProcess.isRunning())) {
-            if (!currentProcess.isRunning()) stats.addLog("Proceso \"" + currentProcess.name() + "\" se ha puesto en ejecución.");
+        /**
+         * Primera fase del ciclo: expropiación y despacho (o robo) del
+         * proceso a ejecutar.
+         */
+        void schedule() {
+            executed = false;
+            
+            // Expropiación (SRT) y planificar siguiente proceso (si no hay uno actual)
+            if (readyArrivals) {
+                readyArrivals = false;
+                checkPreemption();
+            }
+            if (currentProcess == null || currentProcess.isFinished() || currentProcess.isBlockedIO()) {
+                scheduleNextProcess();
+            }
+            
+            if (currentProcess == null || !(currentProcess.isReady() || currentProcess.isRunning())) return;
+            
+            if (!currentProcess.isRunning()) stats.log(LogEvent.RUNNING, currentProcess);
             currentProcess.setRunning();
-            boolean executed = currentProcess.executeInstruction();
-            if (executed) busyCycles++; 
+        }
+        
+        /**
+         * Segunda fase: ejecuta una instrucción del proceso despachado. Sólo
+         * toca el proceso y los contadores del núcleo.
+         */
+        void execute() {
+            if (currentProcess == null || !currentProcess.isRunning()) return;
+            if (currentProcess.executeInstruction()) busyCycles++;
+            executed = true;
+        }
+        
+        /**
+         * Tercera fase: fin de quantum, bloqueo por E/S o fin del proceso.
+         */
+        void settle() {
+            if (!executed) return;
+            
+            // Fin de quantum (sólo políticas con quantum)
+            if (scheduler.onTick(currentProcess)) {
+                scheduler.onQuantumExpiry(currentProcess);
+                readyMutex.acquireUninterruptibly();
+                try {
+                    readyQueue.offer(currentProcess);
+                } finally {
+                    readyMutex.release();
+                }
+                
+                stats.log(LogEvent.QUANTUM_EXPIRED, currentProcess);
+                currentProcess = null;
+                return;
+            }
 
             if (currentProcess.isBlockedIO()) {
+                scheduler.onBlock(currentProcess);
                 currentProcess.setBlocked(); 
                 ioMutex.acquireUninterruptibly();
                 try{
-                    ioQueue.enqueue(currentProcess);
+                    currentProcess.onBlockedIO(simulationTime, ioSeq++);
+                    ioQueue.schedule(currentProcess.pid());
                 } finally {
                     ioMutex.release();
                 }
-                
-                System.out.println("Proceso " + currentProcess.name() + " bloqueado.");
-                stats.addLog("Proceso \"" + currentProcess.name() + "\" se ha bloqueado y puesto en la cola de bloqueados.");
+
+                if (verbose()) print("Proceso " + currentProcess.name() + " bloqueado.");
+                stats.log(LogEvent.BLOCKED, currentProcess);
                 currentProcess = null;
-                
+
             } else if (currentProcess.isFinished()) {
-                config.resetRemainingQuantum();
+                scheduler.onFinish(currentProcess);
                 currentProcess.setFinishTime((int) simulationTime);   //guarda fin
-                
-                finishedQueue.enqueue(currentProcess);
-                this.stats.setFinishedQueue(finishedQueue.toLinkedList());
-                
-                System.out.println("¡Proceso " + currentProcess.name() + " terminado! :)");
-                stats.addLog("Proceso \"" + currentProcess.name() + "\" se ha terminado y puesto en la cola de terminados.");
-                currentProcess = null;
-            } 
+                metrics.onFinish(simulationTime - currentProcess.arrival());
 
+                if (config.isRetainFinished()) {
+                    finishedMutex.acquireUninterruptibly();
+                    try {
+                        finishedQueue.addLast(currentProcess.pid());
+                    } finally {
+                        finishedMutex.release();
+                    }
+                } else {
+                    processes.remove(currentProcess.pid());
+                }
 
-            // 4. Esperar según la duración del ciclo configurada
-            try {
-                Thread.sleep(config.getCycleDuration());
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+                if (verbose()) print("¡Proceso " + currentProcess.name() + " terminado! :)");
+                stats.log(LogEvent.FINISHED, currentProcess);
+                currentProcess = null;
             }
         }
-    }
-    
-    /**
-     * Política de planificación MFQ (Multilevel Feedback Queue)
-     * 
-     * Se ejecutan los procesos con mayor nivel de prioridad y mediante un
-     * valor "quantum" asignado a cada proceso, el cual va disminuyendo por
-     * cada ciclo. Si el "Quantum" del proceso llega a 0, se expulsa del CPU,
-     * se añade al final de la cola de listos y se le disminuye el nivel de
-     * prioridad en 1 a menos de que su nivel sea igual a 1.
-     */
-    public void simulateCycleMFQ() {
-        simulationTime++;
         
-        // 1. Procesar I/O
-        if (!externalIOThread) {
-            processIOQueue();
+        /**
+         * Saca de la cola de listos el siguiente proceso según la política
+         * actual y lo pone en ejecución. Si la cola está vacía, intenta
+         * robarle uno a otro núcleo.
+         */
+        private void scheduleNextProcess() {
+            readyMutex.acquireUninterruptibly();
+            try {
+                currentProcess = readyQueue.isEmpty() ? null : scheduler.select(readyQueue);
+            } finally {
+                readyMutex.release();
+            }
+            if (currentProcess == null) currentProcess = steal();
+            if (currentProcess == null) return;
+            
+            stats.log(LogEvent.DISPATCHED, currentProcess);
+            log(EventTrace.Kind.DISPATCH, currentProcess);
+            // Cambia a RUNNING
+            currentProcess.setRunning();
+            // Métricas: tiempo de espera y de primera respuesta
+            long waitBefore = currentProcess.totalWait();
+            boolean firstRun = currentProcess.firstRun() == Process.NONE;
+            currentProcess.onDispatchedToCpu((int) simulationTime);
+            metrics.onWaitAccrued(waitBefore, currentProcess.totalWait());
+            if (firstRun) metrics.onFirstDispatch(currentProcess.firstRun() - currentProcess.arrival());
+            currentProcess.setStartTime((int) simulationTime);
         }
         
-        // 2. Planificar siguiente proceso (si no hay uno actual)
-        if (currentProcess == null || currentProcess.isFinished() || currentProcess.isBlockedIO()) {
-            scheduleNextProcessPriority();
+        /**
+         * Toma el siguiente proceso (según la política) de la cola más larga
+         * de los demás núcleos. Los robos ocurren en la fase de despacho, en
+         * orden de núcleo, así que no dependen de los hilos.
+         * @return Proceso robado, o null si no hay procesos listos.
+         */
+        private Process steal() {
+            Core victim = null;
+            int most = 0;
+            for (Core core : cores) {
+                int size = core.readyQueue.size();
+                if (core != this && size > most) {
+                    most = size;
+                    victim = core;
+                }
+            }
+            if (victim == null) return null;
+            
+            Process p;
+            victim.readyMutex.acquireUninterruptibly();
+            try {
+                p = victim.readyQueue.isEmpty() ? null : victim.scheduler.select(victim.readyQueue);
+            } finally {
+                victim.readyMutex.release();
+            }
+            if (p != null) log(EventTrace.Kind.STEAL, id, p, victim.id, null);
+            return p;
         }
         
-        if (currentProcess != null && (currentProcess.isReady() || currentProcess.isRunning())) {
-            if (!currentProcess.isRunning()) stats.addLog("Proceso \"" + currentProcess.name() + "\" se ha puesto en ejecución.");
-            currentProcess.setRunning();
-            boolean executed = currentProcess.executeInstruction();
-            if (executed) busyCycles++; 
-            
-            if (config.getRemainingQuantum() == 0) {
-                config.resetRemainingQuantum();
-                currentProcess.reducePriority();
-                readyQueue.enqueue(currentProcess);
+        /**
+         * Si llegaron procesos a la cola de listos, le pregunta al planificador
+         * si el proceso en ejecución debe ceder el núcleo al mejor de ellos.
+         * Si es así, vuelve a la cola de listos (en O(log n)) y queda libre el
+         * núcleo para el despacho de este mismo ciclo.
+         */
+        private void checkPreemption() {
+            if (currentProcess == null || !currentProcess.isRunning()) return;
+            readyMutex.acquireUninterruptibly();
+            try {
+                Process candidate = readyQueue.peek();
+                if (candidate == null || !scheduler.shouldPreempt(currentProcess, candidate)) return;
                 
-                stats.addLog("Se ha reducido el nivel de prioridad del proceso \"" + currentProcess.name() + "\" a " + currentProcess.priority() + ".");
-                stats.addLog("Se ha terminado el quantum para el proceso \"" + currentProcess.name() + "\" y se ha puesto en la cola de listos.");
+                Process preempted = currentProcess;
+                preempted.setReady();
+                preempted.onEnqueuedReady((int) simulationTime);
+                readyQueue.offer(preempted);
                 currentProcess = null;
-            } else {
-                config.reduceRemainingQuantum();
-            }
-
-            if (currentProcess != null) {
-                if (currentProcess.isBlockedIO()) {
-                    currentProcess.setBlocked(); 
-                    ioMutex.acquireUninterruptibly();
-                    try{
-                        ioQueue.enqueue(currentProcess);
-                    } finally {
-                        ioMutex.release();
-                    }
-
-                    System.out.println("Proceso " + currentProcess.name() + " bloqueado.");
-                    stats.addLog("Proceso \"" + currentProcess.name() + "\" se ha bloqueado y puesto en la cola de bloqueados.");
-                    currentProcess = null;
-
-                } else if (currentProcess.isFinished()) {
-                    config.resetRemainingQuantum();
-                    currentProcess.setFinishTime((int) simulationTime);   //guarda fin
-
-                    finishedQueue.enqueue(currentProcess);
-                    this.stats.setFinishedQueue(finishedQueue.toLinkedList());
-
-                    System.out.println("¡Proceso " + currentProcess.name() + " terminado! :)");
-                    stats.addLog("Proceso \"" + currentProcess.name() + "\" se ha terminado y puesto en la cola de terminados.");
-                    currentProcess = null;
-                } 
+                
+                log(EventTrace.Kind.PREEMPT, 0, preempted, 0, candidate);
+                stats.log(LogEvent.PREEMPTED, preempted, candidate);
+            } finally {
+                readyMutex.release();
             }
-
-
-            // 4. Esperar según la duración del ciclo configurada
+        }
+        
+        /**
+         * Cambia de planificador si la política cambió, pasando los procesos
+         * listos a la cola de la nueva política.
+         */
+        void sync(PlanPolicy policy) {
+            if (policy == scheduler.policy()) return;
+            
+            readyMutex.acquireUninterruptibly();
             try {
-                Thread.sleep(config.getCycleDuration());
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+                Scheduler next = Scheduler.forPolicy(policy, config, stats);
+                ReadyQueue queue = next.newReadyQueue(processes);
+                for (Process p = readyQueue.poll(); p != null; p = readyQueue.poll()) {
+                    queue.offer(p);
+                }
+                scheduler = next;
+                readyQueue = queue;
+            } finally {
+                readyMutex.release();
             }
         }
     }
     
     /**
      *
-     *   Manejadores de procesos e IO
+     *   Puntos de control
      *
      */
     
     /**
-     * Procesar la cola de IO, si no está vacía. Si se completa una petición de
-     * IO, se desbloquea el proceso y se añade de vuelta a la cola de listos.
+     * Escribe el estado completo del CPU: tiempo, contadores, métricas y
+     * cada cola con sus procesos. Las colas de listos y de llegadas se
+     * escriben en el orden en que saldrían (se vacían y se vuelven a llenar),
+     * así que al leerlas se respetan los desempates. No se guarda el registro
+     * de eventos ni la fuente de procesos conectada (por eso
+     * {@link Checkpoint} no guarda si la fuente no se agotó, ver
+     * {@link #hasPendingSource()}). Debe llamarse entre ciclos.
+     * @param out Salida.
+     * @throws IOException Si falla la escritura.
      */
-    private void processIOQueue() {
-        int n = ioQueue.size();
-        for (int i = 0; i < n; i++) {
-            Process p = ioQueue.dequeue();                 // saco la cabeza
-            boolean done = p.processIOCycle();             // avanzo 1 ciclo de E/S
-            if (done) {
-                p.setReady();
-                p.onEnqueuedReady((int) simulationTime);
-                
-                readyQueue.enqueue(p);               // vuelve a READY
-                
-                stats.addLog("I/O compledato para \"" + p.name() + "\".");
-                stats.addLog("Proceso \"" + p.name() + "\" se ha puesto en cola de listos.");
-                System.out.println("I/O completado para: " + p.name() + ". Poniendo en cola de listos.");
-            } else {
-                ioQueue.enqueue(p);                        // aún no termina: regresa al final
-            }
-        }
-    }
-    
-    public void processIOCycleOneTick() {
+    void writeState(BinaryWriter out) throws IOException {
+        syncScheduler();
         ioMutex.acquireUninterruptibly();
-        readyMutex.acquireUninterruptibly();
+        arrivalsMutex.acquireUninterruptibly();
+        for (Core core : cores) core.readyMutex.acquireUninterruptibly();
+        finishedMutex.acquireUninterruptibly();
         try {
-            int n = ioQueue.size();
-            for (int i = 0; i < n; i++) {
-                Process p = ioQueue.dequeue();
-                boolean done = p.processIOCycle();
-                if (done) {
-                    p.setReady();
-                    p.onEnqueuedReady((int) simulationTime);
-                    
-                    log("IO-DONE %s -> READY (t=%d)", p.name(), simulationTime);
-             
-                    readyQueue.enqueue(p);
-                    System.out.println("I/O completado para: " + p.name() + ". Poniendo en cola de listos.");
-                } else {
-                    ioQueue.enqueue(p);
-                }
+            out.writeLong(simulationTime);
+            out.writeLong(ioSeq);
+            out.writeInt(processes.nextPid());
+            metrics.writeTo(out);
+            
+            LinkedList<Process> pending = new LinkedList<>();
+            while (!pendingArrivals.isEmpty()) pending.addLast(processes.get(pendingArrivals.poll()));
+            for (Process p : pending) pendingArrivals.add(p.pid());
+            writeProcesses(out, pending);
+            
+            out.writeInt(cores.length);
+            for (Core core : cores) {
+                out.writeLong(core.busyCycles);
+                out.writeBoolean(core.readyArrivals);
+                out.writeInt(core.scheduler instanceof QuantumScheduler q ? q.remainingQuantum() : -1);
+                out.writeBoolean(core.currentProcess != null);
+                if (core.currentProcess != null) core.currentProcess.writeTo(out);
+                
+                LinkedList<Process> ready = new LinkedList<>();
+                for (Process p = core.readyQueue.poll(); p != null; p = core.readyQueue.poll()) ready.addLast(p);
+                for (Process p : ready) core.readyQueue.offer(p);
+                writeProcesses(out, ready);
             }
+            
+            writeProcesses(out, getIoQueue());
+            writeProcesses(out, getFinishedQueue());
         } finally {
-            readyMutex.release();
+            finishedMutex.release();
+            for (int i = cores.length - 1; i >= 0; i--) cores[i].readyMutex.release();
+            arrivalsMutex.release();
             ioMutex.release();
         }
     }
     
-    // Planificar procesos
-
-    private void scheduleNextProcess() {
-        cpuMutex.acquireUninterruptibly();
-        readyMutex.acquireUninterruptibly();
-        try {
-            if (!readyQueue.isEmpty()) {
-                currentProcess = readyQueue.dequeue();
-                stats.addLog("Proceso \"" + currentProcess.name() + "\" se ha puesto en cola de listos.");
-            } else {
-                currentProcess = null;
-            }
-
-            if (currentProcess != null) {
-                log("DISPATCH %s", currentProcess.name());
-                // Cambia a RUNNING
-                currentProcess.setRunning();
-                // Métricas: tiempo de espera y de primera respuesta
-                currentProcess.onDispatchedToCpu((int) simulationTime);
-                if (currentProcess.startTime() == null) {
-                    currentProcess.setStartTime((int) simulationTime);
-                }
-            }
-        } finally {
-            // Siempre liberar en el orden inverso
-            readyMutex.release();
-            cpuMutex.release();
-        }
+    private static void writeProcesses(BinaryWriter out, LinkedList<Process> list) throws IOException {
+        out.writeInt(list.size());
+        for (Process p : list) p.writeTo(out);
     }
     
-    private void scheduleNextProcessPriority() {
-        cpuMutex.acquireUninterruptibly();
-        readyMutex.acquireUninterruptibly();
-        try {
-            if (!readyQueue.isEmpty()) {
-                currentProcess = readyQueue.pollPriority();
-                stats.addLog("Proceso \"" + currentProcess.name() + "\" se ha puesto en cola de listos.");
-            } else {
-                currentProcess = null;
-            }
-
-            if (currentProcess != null) {
-                log("DISPATCH %s", currentProcess.name());
-                // Cambia a RUNNING
-                currentProcess.setRunning();
-                // Métricas: tiempo de espera y de primera respuesta
-                currentProcess.onDispatchedToCpu((int) simulationTime);
-                if (currentProcess.startTime() == null) {
-                    currentProcess.setStartTime((int) simulationTime);
-                }
-            }
-        } finally {
-            // Siempre liberar en el orden inverso
-            readyMutex.release();
-            cpuMutex.release();
+    /**
+     * Crea un CPU con el estado escrito por {@link #writeState(BinaryWriter)}.
+     * @param in Entrada.
+     * @param config Configuración (ya leída del mismo punto de control).
+     * @param stats Estadísticas.
+     * @return CPU restaurado.
+     * @throws IOException Si falla la lectura o el estado no coincide con la
+     * configuración.
+     */
+    static CPU readState(BinaryReader in, Config config, Stats stats) throws IOException {
+        long time = in.readLong();
+        CPU cpu = new CPU(config, stats, time);
+        cpu.ioSeq = in.readLong();
+        int nextPid = in.readInt();
+        cpu.metrics.readFrom(in);
+        
+        int n = in.readInt();
+        for (int i = 0; i < n; i++) cpu.pendingArrivals.add(cpu.restored(in).pid());
+        
+        int coreCount = in.readInt();
+        if (coreCount != cpu.cores.length) {
+            throw new IOException("El punto de control tiene " + coreCount + " núcleos y la configuración " + cpu.cores.length);
+        }
+        for (Core core : cpu.cores) {
+            core.busyCycles = in.readLong();
+            core.readyArrivals = in.readBoolean();
+            int quantum = in.readInt();
+            if (quantum >= 0 && core.scheduler instanceof QuantumScheduler q) q.setRemainingQuantum(quantum);
+            if (in.readBoolean()) core.currentProcess = cpu.restored(in);
+            n = in.readInt();
+            for (int i = 0; i < n; i++) core.readyQueue.offer(cpu.restored(in));
         }
+        
+        n = in.readInt();
+        for (int i = 0; i < n; i++) cpu.ioQueue.schedule(cpu.restored(in).pid());
+        n = in.readInt();
+        for (int i = 0; i < n; i++) cpu.finishedQueue.addLast(cpu.restored(in).pid());
+        cpu.processes.skipTo(nextPid);
+        return cpu;
     }
     
-    private void scheduleNextProcessShortestProcess() {
-        cpuMutex.acquireUninterruptibly();
-        readyMutex.acquireUninterruptibly();
-        try {
-            if (!readyQueue.isEmpty()) {
-                currentProcess = readyQueue.pollShortestProcess();
-                stats.addLog("Proceso \"" + currentProcess.name() + "\" se ha puesto en cola de listos.");
-            } else {
-                currentProcess = null;
-            }
-
-            if (currentProcess != null) {
-                log("DISPATCH %s", currentProcess.name());
-                // Cambia a RUNNING
-                currentProcess.setRunning();
-                // Métricas: tiempo de espera y de primera respuesta
-                currentProcess.onDispatchedToCpu((int) simulationTime);
-                if (currentProcess.startTime() == null) {
-                    currentProcess.setStartTime((int) simulationTime);
-                }
-            }
-        } finally {
-            // Siempre liberar en el orden inverso
-            readyMutex.release();
-            cpuMutex.release();
-        }
+    /**
+     * Lee un proceso y lo agrega a la tabla.
+     * @return El proceso de la tabla.
+     */
+    private Process restored(BinaryReader in) throws IOException {
+        return processes.put(Process.readFrom(in));
     }
     
     // Misceláneos
     
     public boolean isActive() {
-        return readyQueue.isEmpty() && ioQueue.isEmpty() && currentProcess == null;
+        for (Core core : cores) {
+            if (core.currentProcess != null || !core.readyQueue.isEmpty()) return false;
+        }
+        return ioQueue.isEmpty() && pendingArrivals.isEmpty() && nextFromSource == null;
+    }
+
+    /**
+     * Planificador vigente del primer núcleo (se actualiza si cambia la
+     * política).
+     */
+    public Scheduler getScheduler() {
+        syncScheduler();
+        return cores[0].scheduler;
     }
 
+    /**
+     * Proceso en ejecución en el primer núcleo.
+     */
     public Process getCurrentProcess() {
-        return this.currentProcess;
+        return cores[0].currentProcess;
+    }
+
+    public Process getCurrentProcess(int core) {
+        return cores[core].currentProcess;
     }
 
+    /**
+     * Procesos listos de todos los núcleos, núcleo por núcleo.
+     */
     public LinkedList<Process> getReadyQueue() {
-        return this.readyQueue.toLinkedList();
+        if (cores.length == 1) return cores[0].readyQueue.toLinkedList();
+        LinkedList<Process> res = new LinkedList<>();
+        for (Core core : cores) {
+            for (Process p : core.readyQueue.toLinkedList()) res.add(p);
+        }
+        return res;
+    }
+
+    public LinkedList<Process> getFinishedQueue() {
+        LinkedList<Process> res = new LinkedList<>();
+        finishedQueue.forEach(pid -> res.addLast(processes.get(pid)));
+        return res;
     }
 
+    /**
+     * Procesos bloqueados, en orden de ranura de la rueda (no de fin de E/S).
+     */
     public LinkedList<Process> getIoQueue() {
-        return this.ioQueue.toLinkedList();
+        LinkedList<Process> res = new LinkedList<>();
+        ioQueue.forEach(pid -> res.addLast(processes.get(pid)));
+        return res;
     }
 }
@@ -0,0 +1,114 @@
+package sistemas.operativos.proyecto1;
+
+import sistemas.operativos.proyecto1.lib.BinaryReader;
+import sistemas.operativos.proyecto1.lib.BinaryWriter;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Puntos de control: guarda el estado de una simulación en un archivo
+ * binario compacto y la reanuda desde él.
+ *
+ * Formato (big-endian, ver {@link sistemas.operativos.proyecto1.lib.BinaryWriter}):
+ * <pre>
+ *   int   "SOCP" (número mágico)
+ *   short versión
+ *   configuración, ciclo actual de Stats, estado del CPU
+ * </pre>
+ * El estado del CPU escribe cada proceso con todos sus campos
+ * ({@code Process.writeTo}) dentro de la cola en la que está.
+ * @author Sebastián
+ */
+public final class Checkpoint {
+    private static final int MAGIC = 0x534F4350;   // "SOCP"
+    private static final short VERSION = 3;   // 2: pids enteros; 3: columnarProcesses, sin firstPid
+
+    private Checkpoint() { }
+
+    /**
+     * Guarda una simulación. Se escribe en un archivo temporal que luego
+     * reemplaza al destino, así que un fallo no deja un punto de control a
+     * medias. Debe llamarse con la simulación detenida o entre ciclos.
+     * @param sim Simulador.
+     * @param cpu CPU del simulador.
+     * @param stats Estadísticas del simulador.
+     * @param file Archivo destino.
+     * @throws IOException Si falla la escritura, o si hay una fuente de
+     * procesos conectada que aún no se agotó (su posición no se guarda).
+     */
+    static void save(Simulator sim, CPU cpu, Stats stats, Path file) throws IOException {
+        if (cpu.hasPendingSource()) {
+            throw new IOException("no se puede guardar con una fuente de procesos (--generate o --import) sin agotar");
+        }
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (BinaryWriter out = new BinaryWriter(FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            writeConfig(out, sim.getConfig());
+            out.writeLong(stats.currentCycle);
+            cpu.writeState(out);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Crea un simulador con el estado de un punto de control.
+     * @param file Archivo.
+     * @param stats Estadísticas en las que publicar.
+     * @return Simulador listo para continuar con startSimulation().
+     * @throws IOException Si falla la lectura o el archivo no es un punto de
+     * control de una versión conocida.
+     */
+    public static Simulator restore(Path file, Stats stats) throws IOException {
+        try (BinaryReader in = new BinaryReader(FileChannel.open(file, StandardOpenOption.READ))) {
+            if (in.readInt() != MAGIC) throw new IOException(file + " no es un punto de control");
+            short version = in.readShort();
+            if (version != VERSION) throw new IOException("Versión de punto de control no soportada: " + version);
+
+            Config config = readConfig(in);
+            stats.setCurrentCycle(in.readLong());
+            CPU cpu = CPU.readState(in, config, stats);
+            Simulator sim = new Simulator(stats, config, cpu);
+            sim.printReport();
+            return sim;
+        }
+    }
+
+    private static void writeConfig(BinaryWriter out, Config config) throws IOException {
+        out.writeInt(config.getCyclesAmount());
+        out.writeLong(config.getCycleDuration());
+        out.writeBoolean(config.isPaced());
+        out.writeBoolean(config.isRetainFinished());
+        out.writeString(config.getPolicy().name());
+        out.writeInt(config.getQuantum());
+        out.writeInt(config.getCores());
+        out.writeBoolean(config.isParallelCores());
+        out.writeBoolean(config.isColumnarProcesses());
+    }
+
+    private static Config readConfig(BinaryReader in) throws IOException {
+        int cyclesAmount = in.readInt();
+        long cycleDuration = in.readLong();
+        boolean paced = in.readBoolean();
+        boolean retainFinished = in.readBoolean();
+        PlanPolicy policy;
+        try {
+            policy = PlanPolicy.valueOf(in.readString());
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Política desconocida en el punto de control", e);
+        }
+        int quantum = in.readInt();
+
+        Config config = new Config(cyclesAmount, cycleDuration, policy, quantum);
+        config.setPaced(paced);
+        config.setRetainFinished(retainFinished);
+        config.setCores(in.readInt());
+        config.setParallelCores(in.readBoolean());
+        config.setColumnarProcesses(in.readBoolean());
+        return config;
+    }
+}
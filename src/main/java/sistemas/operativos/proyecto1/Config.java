@@ -8,13 +8,26 @@ public class Config {
     //Parámetros de simulación 
     private int  cyclesAmount;             // cantidad de ciclos a simular (si aplicas tope)
     private volatile long cycleDuration;   // ms por ciclo (cambia en caliente desde GUI)
+    private volatile boolean paced = true; // false: sin espera entre ciclos (modo por lotes)
+    private volatile boolean retainFinished = true; // false: no se guardan los procesos terminados
 
     // --- Política y quantum ---
     private PlanPolicy policy;             // debe poder cambiarse en ejecución
-    private int  quantum;                  // quantum en ciclos (RR)
-    private int  remainingQuantum;
+    private int  quantum;                  // quantum en ciclos (RR); el restante lo lleva cada núcleo
 
-    private final String configFile = "system_config.json"; // (reservado para persistencia)
+    // --- Núcleos ---
+    private int  cores = 1;                // núcleos del CPU (se lee al crear el CPU)
+    private boolean parallelCores = false; // un hilo por núcleo, con barrera por ciclo
+    private boolean columnarProcesses = false; // datos de los procesos por columnas, ver ProcessTable (se lee al crear el CPU)
+
+    private final String configFile = "system_config.json"; // ver ConfigFile
+    private volatile String eventLogFile = "events.log";    // null: no se escribe el registro
+    private long eventLogMaxBytes = 64L << 20;              // rota events.log al superar este tamaño; 0: sin límite
+    private long eventLogMaxCycles = 0;                     // ciclos por archivo de events.log; 0: sin límite
+    private int  eventLogBackups = 5;                       // archivos rotados que se conservan
+    private volatile String checkpointFile = "checkpoint.bin"; // se guarda al pausar; null: no se guarda
+    private volatile String traceFile = null;               // traza binaria en lugar de events.log; null: sin traza
+    private volatile Output output = Output.console(Output.Level.INFO); // mensajes del motor; sólo avisos y errores en los modos por lotes
 
     // Constructores
     public Config() {
@@ -30,7 +43,6 @@ public class Config {
         this.cycleDuration    = Math.max(1L, initialCycleDuration);
         this.policy           = (policy != null) ? policy : PlanPolicy.FCFS;
         this.quantum          = Math.max(1, quantum);
-        this.remainingQuantum = this.quantum;
     }
 
     // Getters / Setters 
@@ -44,27 +56,54 @@ public class Config {
         this.cycleDuration = Math.max(1L, cycleDuration);
     }
 
+    public String getConfigFile() { return configFile; }
+
+    public String getEventLogFile() { return eventLogFile; }
+    public void setEventLogFile(String file) { this.eventLogFile = file; }
+
+    public long getEventLogMaxBytes() { return eventLogMaxBytes; }
+    public void setEventLogMaxBytes(long bytes) { this.eventLogMaxBytes = Math.max(0, bytes); }
+
+    public long getEventLogMaxCycles() { return eventLogMaxCycles; }
+    public void setEventLogMaxCycles(long cycles) { this.eventLogMaxCycles = Math.max(0, cycles); }
+
+    public int getEventLogBackups() { return eventLogBackups; }
+    public void setEventLogBackups(int backups) { this.eventLogBackups = Math.max(0, backups); }
+
+    public String getCheckpointFile() { return checkpointFile; }
+    public void setCheckpointFile(String file) { this.checkpointFile = file; }
+
+    public String getTraceFile() { return traceFile; }
+    public void setTraceFile(String file) { this.traceFile = file; }
+
+    public Output getOutput() { return output; }
+    public void setOutput(Output output) { this.output = (output != null) ? output : Output.NONE; }
+
+    public boolean isRetainFinished() { return retainFinished; }
+    public void setRetainFinished(boolean retain) { this.retainFinished = retain; }
+
+    public boolean isPaced() { return paced; }
+    public void setPaced(boolean paced) { this.paced = paced; }
+
     public synchronized PlanPolicy getPolicy() { return policy; }
     public synchronized void setPolicy(PlanPolicy newPolicy) {
         if (newPolicy != null && newPolicy != this.policy) {
-            this.policy = newPolicy;
-            // si cambias a RR, arranca rebanada nueva
-            if (newPolicy == PlanPolicy.RR) {
-                this.remainingQuantum = this.quantum;
-            }
+            this.policy = newPolicy;   // el planificador nuevo arranca rebanada nueva
         }
     }
 
     public synchronized int getQuantum() { return quantum; }
     public synchronized void setQuantum(int quantum) {
-        this.quantum = Math.max(1, quantum);
-        this.remainingQuantum = this.quantum; // reset al cambiar quantum
+        this.quantum = Math.max(1, quantum);   // los planificadores reinician su rebanada
     }
 
-    public synchronized int getRemainingQuantum() { return remainingQuantum; }
-    public synchronized void reduceRemainingQuantum() {
-        if (remainingQuantum > 0) remainingQuantum--;
-    }
-    public synchronized void resetRemainingQuantum() { remainingQuantum = quantum; }
+    public synchronized int getCores() { return cores; }
+    public synchronized void setCores(int cores) { this.cores = Math.max(1, cores); }
+
+    public synchronized boolean isParallelCores() { return parallelCores; }
+    public synchronized void setParallelCores(boolean parallel) { this.parallelCores = parallel; }
+
+    public synchronized boolean isColumnarProcesses() { return columnarProcesses; }
+    public synchronized void setColumnarProcesses(boolean columnar) { this.columnarProcesses = columnar; }
 }
 
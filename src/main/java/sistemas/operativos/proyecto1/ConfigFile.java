@@ -0,0 +1,216 @@
+package sistemas.operativos.proyecto1;
+
+import sistemas.operativos.proyecto1.lib.FlatJson;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+
+/**
+ * Persistencia de la configuración en system_config.json: carga al iniciar,
+ * guardado al confirmar cambios desde la interfaz y recarga en caliente
+ * cuando el archivo cambia.
+ *
+ * El archivo es un objeto JSON plano (ver {@link FlatJson}). Las claves
+ * desconocidas se ignoran y las que faltan dejan el valor actual.
+ * @author Sebastián
+ */
+public final class ConfigFile {
+    /** Claves que se aplican a una simulación en curso al recargar. */
+    private static final String[] LIVE_KEYS = { "cyclesAmount", "cycleDuration", "policy", "quantum" };
+    /** Espera tras un cambio, para no leer el archivo a medio escribir. */
+    private static final long SETTLE_MS = 50;
+
+    private ConfigFile() { }
+
+    /**
+     * Carga la configuración desde un archivo.
+     * @param config Configuración a modificar.
+     * @param file Archivo JSON.
+     * @throws IOException Si no se puede leer o no es válido (en ese caso la
+     * configuración no cambia).
+     */
+    public static void load(Config config, Path file) throws IOException {
+        apply(config, FlatJson.parse(Files.readString(file, StandardCharsets.UTF_8)), null);
+    }
+
+    /**
+     * Carga la configuración si el archivo existe. Los errores se informan
+     * por consola y se siguen usando los valores por defecto.
+     * @return true si se cargó.
+     */
+    public static boolean loadIfExists(Config config, Path file) {
+        if (!Files.exists(file)) return false;
+        try {
+            load(config, file);
+            return true;
+        } catch (IOException e) {
+            System.err.println("No se pudo cargar " + file + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Guarda la configuración (en un archivo temporal que luego reemplaza al
+     * original, para que quien lo vigile nunca lo lea a medias).
+     * @param config Configuración.
+     * @param file Archivo JSON.
+     * @throws IOException Si falla la escritura.
+     */
+    public static void save(Config config, Path file) throws IOException {
+        StringBuilder sb = new StringBuilder("{\n");
+        field(sb, "cyclesAmount", config.getCyclesAmount());
+        field(sb, "cycleDuration", config.getCycleDuration());
+        field(sb, "policy", config.getPolicy().name());
+        field(sb, "quantum", config.getQuantum());
+        field(sb, "cores", config.getCores());
+        field(sb, "parallelCores", config.isParallelCores());
+        field(sb, "columnarProcesses", config.isColumnarProcesses());
+        field(sb, "retainFinished", config.isRetainFinished());
+        field(sb, "eventLogFile", config.getEventLogFile());
+        field(sb, "eventLogMaxBytes", config.getEventLogMaxBytes());
+        field(sb, "eventLogMaxCycles", config.getEventLogMaxCycles());
+        field(sb, "eventLogBackups", config.getEventLogBackups());
+        field(sb, "checkpointFile", config.getCheckpointFile());
+        field(sb, "traceFile", config.getTraceFile());
+        sb.setLength(sb.length() - 2);
+        sb.append("\n}\n");
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.writeString(tmp, sb, StandardCharsets.UTF_8);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void field(StringBuilder sb, String key, Object value) {
+        sb.append("  \"").append(key).append("\": ");
+        if (value instanceof String s) quote(sb, s);
+        else sb.append(value);
+        sb.append(",\n");
+    }
+
+    private static void quote(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+                }
+            }
+        }
+        sb.append('"');
+    }
+
+    /**
+     * Vigila el archivo y, cada vez que cambia, aplica a la configuración la
+     * cantidad de ciclos, la duración del ciclo, la política y el quantum
+     * (el simulador los lee en cada ciclo, así que valen desde el siguiente).
+     * El resto de las claves se usa sólo al iniciar.
+     * @param config Configuración de la simulación en curso.
+     * @param file Archivo JSON.
+     * @return Servicio de vigilancia; al cerrarlo termina la vigilancia.
+     * @throws IOException Si no se puede vigilar el directorio.
+     */
+    public static WatchService watch(Config config, Path file) throws IOException {
+        Path abs = file.toAbsolutePath();
+        Path dir = abs.getParent();
+        Path name = abs.getFileName();
+        WatchService watcher = dir.getFileSystem().newWatchService();
+        dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        Thread t = new Thread(() -> {
+            try {
+                while (true) {
+                    WatchKey key = watcher.take();
+                    boolean changed = false;
+                    for (WatchEvent<?> ev : key.pollEvents()) {
+                        if (name.equals(ev.context())) changed = true;
+                    }
+                    key.reset();
+                    if (!changed) continue;
+                    Thread.sleep(SETTLE_MS);
+                    try {
+                        apply(config, FlatJson.parse(Files.readString(abs, StandardCharsets.UTF_8)), LIVE_KEYS);
+                    } catch (IOException e) {
+                        System.err.println("No se pudo recargar " + file + ": " + e.getMessage());
+                    }
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                // fin de la vigilancia
+            }
+        }, "config-watch");
+        t.setDaemon(true);
+        t.start();
+        return watcher;
+    }
+
+    /**
+     * Aplica los valores leídos. Primero se validan todos, así que si uno es
+     * inválido no se aplica ninguno.
+     * @param only Claves a aplicar, o null para todas.
+     */
+    private static void apply(Config config, Map<String, Object> values, String[] only) throws IOException {
+        if (only != null) values.keySet().retainAll(java.util.Arrays.asList(only));
+        Runnable[] setters = new Runnable[values.size()];
+        int n = 0;
+        for (Map.Entry<String, Object> e : values.entrySet()) {
+            String key = e.getKey();
+            Object v = e.getValue();
+            try {
+                setters[n++] = switch (key) {
+                    case "cyclesAmount" -> { int x = toInt(v); yield () -> config.setCyclesAmount(x); }
+                    case "cycleDuration" -> { long x = toLong(v); yield () -> config.setCycleDuration(x); }
+                    case "policy" -> { PlanPolicy x = PlanPolicy.valueOf(toText(v).toUpperCase()); yield () -> config.setPolicy(x); }
+                    case "quantum" -> { int x = toInt(v); yield () -> config.setQuantum(x); }
+                    case "cores" -> { int x = toInt(v); yield () -> config.setCores(x); }
+                    case "parallelCores" -> { boolean x = toBoolean(v); yield () -> config.setParallelCores(x); }
+                    case "columnarProcesses" -> { boolean x = toBoolean(v); yield () -> config.setColumnarProcesses(x); }
+                    case "retainFinished" -> { boolean x = toBoolean(v); yield () -> config.setRetainFinished(x); }
+                    case "eventLogFile" -> { String x = toTextOrNull(v); yield () -> config.setEventLogFile(x); }
+                    case "eventLogMaxBytes" -> { long x = toLong(v); yield () -> config.setEventLogMaxBytes(x); }
+                    case "eventLogMaxCycles" -> { long x = toLong(v); yield () -> config.setEventLogMaxCycles(x); }
+                    case "eventLogBackups" -> { int x = toInt(v); yield () -> config.setEventLogBackups(x); }
+                    case "checkpointFile" -> { String x = toTextOrNull(v); yield () -> config.setCheckpointFile(x); }
+                    case "traceFile" -> { String x = toTextOrNull(v); yield () -> config.setTraceFile(x); }
+                    default -> () -> { };
+                };
+            } catch (RuntimeException ex) {
+                throw new IOException("Valor inválido para \"" + key + "\": " + v);
+            }
+        }
+        for (int i = 0; i < n; i++) setters[i].run();
+    }
+
+    private static long toLong(Object v) {
+        if (v instanceof Double d && d == Math.rint(d)) return d.longValue();
+        if (v instanceof Long l) return l;
+        throw new IllegalArgumentException();
+    }
+
+    private static int toInt(Object v) { return Math.toIntExact(toLong(v)); }
+
+    private static boolean toBoolean(Object v) {
+        if (v instanceof Boolean b) return b;
+        throw new IllegalArgumentException();
+    }
+
+    private static String toText(Object v) {
+        if (v instanceof String s) return s;
+        throw new IllegalArgumentException();
+    }
+
+    private static String toTextOrNull(Object v) { return (v == null) ? null : toText(v); }
+}
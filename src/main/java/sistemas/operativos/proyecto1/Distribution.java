@@ -0,0 +1,69 @@
+package sistemas.operativos.proyecto1;
+
+import java.util.SplittableRandom;
+
+/**
+ * Distribución de valores enteros para generar cargas sintéticas.
+ * @author Sebastián
+ */
+@FunctionalInterface
+public interface Distribution {
+    int sample(SplittableRandom random);
+
+    static Distribution constant(int value) {
+        return r -> value;
+    }
+
+    /**
+     * Uniforme entre min y max, ambos incluidos.
+     */
+    static Distribution uniform(int min, int max) {
+        if (max < min) throw new IllegalArgumentException("max < min");
+        return r -> min + r.nextInt(max - min + 1);
+    }
+
+    /**
+     * Exponencial con la media dada, redondeada hacia abajo (sirve para
+     * tiempos entre llegadas de un proceso de Poisson).
+     */
+    static Distribution exponential(double mean) {
+        return r -> (int) Math.min(Integer.MAX_VALUE, -mean * Math.log(1.0 - r.nextDouble()));
+    }
+
+    /**
+     * Normal con la media y desviación dadas, redondeada.
+     */
+    static Distribution normal(double mean, double sd) {
+        return r -> (int) Math.round(mean + sd * r.nextGaussian());
+    }
+
+    /**
+     * Lee una distribución en formato de texto: "const:v", "uniform:min:max",
+     * "exp:media" o "normal:media:desviación".
+     * @throws IllegalArgumentException Si el formato no es válido.
+     */
+    static Distribution parse(String text) {
+        String[] f = text.trim().split(":");
+        try {
+            switch (f[0].toLowerCase()) {
+                case "const":
+                    if (f.length == 2) return constant(Integer.parseInt(f[1]));
+                    break;
+                case "uniform":
+                    if (f.length == 3) return uniform(Integer.parseInt(f[1]), Integer.parseInt(f[2]));
+                    break;
+                case "exp":
+                    if (f.length == 2) return exponential(Double.parseDouble(f[1]));
+                    break;
+                case "normal":
+                    if (f.length == 3) return normal(Double.parseDouble(f[1]), Double.parseDouble(f[2]));
+                    break;
+                default:
+                    break;
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Distribución inválida: " + text, e);
+        }
+        throw new IllegalArgumentException("Distribución inválida: " + text);
+    }
+}
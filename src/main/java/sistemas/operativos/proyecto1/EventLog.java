@@ -0,0 +1,207 @@
+package sistemas.operativos.proyecto1;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Registro de eventos de capacidad fija. Es un búfer circular de registros
+ * preasignados (ciclo, nanos monótonos, evento y argumentos); agregar un
+ * evento sólo copia esos valores, sin armar texto ni crear objetos. El texto
+ * se arma al leer, desde la interfaz o desde el hilo que vuelca el registro a
+ * un archivo. Al llenarse se sobrescriben los más viejos, así que la memoria
+ * no crece en corridas largas.
+ * @author Sebastián
+ */
+public final class EventLog {
+    private static final long DRAIN_INTERVAL_MS = 100;
+
+    private final int mask;
+    private final long[] cycles;
+    private final long[] nanos;
+    private final LogEvent[] events;
+    private final Object[] argA;
+    private final Object[] argB;
+    private final long[] argN;
+    private long written = 0;    // total de eventos agregados
+
+    // Para mostrar la hora de pared a partir de los nanos monótonos
+    private final long baseNanos = System.nanoTime();
+    private final long baseEpochNanos;
+
+    private Thread drainThread;
+    private volatile boolean draining;
+
+    /**
+     * Constructor.
+     * @param capacity Cantidad de eventos que se conservan (se redondea a una
+     * potencia de 2).
+     */
+    public EventLog(int capacity) {
+        int cap = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = cap - 1;
+        this.cycles = new long[cap];
+        this.nanos = new long[cap];
+        this.events = new LogEvent[cap];
+        this.argA = new Object[cap];
+        this.argB = new Object[cap];
+        this.argN = new long[cap];
+        Instant now = Instant.now();
+        this.baseEpochNanos = now.getEpochSecond() * 1_000_000_000L + now.getNano();
+    }
+
+    public int capacity() { return mask + 1; }
+
+    public synchronized long written() { return written; }
+
+    /**
+     * Agrega un evento.
+     * @param cycle Ciclo de la simulación.
+     * @param event Evento.
+     * @param a Primer argumento.
+     * @param b Segundo argumento.
+     * @param n Argumento numérico.
+     */
+    public synchronized void add(long cycle, LogEvent event, Object a, Object b, long n) {
+        int i = (int) (written & mask);
+        cycles[i] = cycle;
+        nanos[i] = System.nanoTime();
+        events[i] = event;
+        argA[i] = a;
+        argB[i] = b;
+        argN[i] = n;
+        written++;
+    }
+
+    /**
+     * Eventos conservados, del más viejo al más nuevo, ya con su texto.
+     */
+    public String[] toStringArray() {
+        Snapshot s = snapshot(0);
+        String[] res = new String[s.count];
+        for (int k = 0; k < s.count; k++) res[k] = s.format(k);
+        return res;
+    }
+
+    /**
+     * Copia (con el candado tomado) los eventos desde "from" que todavía
+     * están en el búfer; el texto se arma después, sin bloquear a quien
+     * escribe.
+     */
+    private synchronized Snapshot snapshot(long from) {
+        long first = Math.max(from, written - capacity());
+        Snapshot s = new Snapshot((int) (written - first), first - from);
+        for (int k = 0; k < s.count; k++) {
+            int i = (int) ((first + k) & mask);
+            s.cycles[k] = cycles[i];
+            s.nanos[k] = nanos[i];
+            s.events[k] = events[i];
+            s.argA[k] = argA[i];
+            s.argB[k] = argB[i];
+            s.argN[k] = argN[i];
+        }
+        s.next = written;
+        return s;
+    }
+
+    private final class Snapshot {
+        final int count;
+        final long lost;     // eventos sobrescritos antes de poder leerlos
+        final long[] cycles, nanos, argN;
+        final LogEvent[] events;
+        final Object[] argA, argB;
+        long next;
+
+        Snapshot(int count, long lost) {
+            this.count = count;
+            this.lost = lost;
+            this.cycles = new long[count];
+            this.nanos = new long[count];
+            this.argN = new long[count];
+            this.events = new LogEvent[count];
+            this.argA = new Object[count];
+            this.argB = new Object[count];
+        }
+
+        String format(int k) {
+            long epochNanos = baseEpochNanos + (nanos[k] - baseNanos);
+            Instant at = Instant.ofEpochSecond(Math.floorDiv(epochNanos, 1_000_000_000L), Math.floorMod(epochNanos, 1_000_000_000L));
+            return "[" + LocalDateTime.ofInstant(at, ZoneId.systemDefault()) + "]: " + events[k].text(argA[k], argB[k], argN[k]);
+        }
+    }
+
+    /**
+     * Empieza a volcar el registro a un archivo en un hilo aparte, que cada
+     * 100 ms escribe los eventos nuevos (uno por línea, con su ciclo). Si el
+     * búfer dio la vuelta antes de que el hilo los leyera, se anota cuántos
+     * se perdieron.
+     * @param file Archivo (se agrega al final).
+     * @throws IOException Si no se puede abrir el archivo.
+     */
+    public synchronized void startDrain(Path file) throws IOException {
+        if (drainThread != null) return;
+        BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        long start = written;
+        draining = true;
+        drainThread = new Thread(() -> drain(out, start), "log-drain");
+        drainThread.setDaemon(true);
+        drainThread.start();
+    }
+
+    /**
+     * Detiene el volcado, escribiendo antes los eventos pendientes.
+     */
+    public void stopDrain() {
+        Thread t;
+        synchronized (this) {
+            t = drainThread;
+            drainThread = null;
+        }
+        if (t == null) return;
+        draining = false;
+        t.interrupt();
+        try {
+            t.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain(BufferedWriter out, long from) {
+        long next = from;
+        try (out) {
+            boolean last = false;
+            while (!last) {
+                last = !draining;
+                Snapshot s = snapshot(next);
+                if (s.lost > 0) {
+                    out.write("... " + s.lost + " eventos perdidos");
+                    out.newLine();
+                }
+                for (int k = 0; k < s.count; k++) {
+                    out.write(String.format("[%06d] ", s.cycles[k]));
+                    out.write(s.format(k));
+                    out.newLine();
+                }
+                out.flush();
+                next = s.next;
+                if (!last) {
+                    try {
+                        Thread.sleep(DRAIN_INTERVAL_MS);
+                    } catch (InterruptedException e) {
+                        // stopDrain: una última pasada
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("No se pudo volcar el registro: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package sistemas.operativos.proyecto1;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Escritura incremental de events.log. Cada línea se codifica directo a un
+ * búfer de tamaño fijo que se vuelca al archivo al llenarse, así que el costo
+ * es O(n) en el total escrito y la memoria no depende del largo del
+ * registro.
+ *
+ * El archivo rota cuando supera un tamaño o abarca cierta cantidad de
+ * ciclos: el actual pasa a "events.log.1", el anterior a "events.log.2", y
+ * así hasta la cantidad de respaldos configurada (el más viejo se borra).
+ * @author Sebastián
+ */
+public final class EventLogWriter implements AutoCloseable {
+    private static final int BUFFER_BYTES = 64 * 1024;
+    private static final char[] NEWLINE = System.lineSeparator().toCharArray();
+
+    private final Path file;
+    private final long maxBytes;
+    private final long maxCycles;
+    private final int backups;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private FileChannel channel;
+    private long fileBytes = 0;          // bytes del archivo actual (incluye lo que está en el búfer)
+    private long fileFirstCycle = -1;    // ciclo de la primera línea del archivo actual
+
+    /**
+     * Constructor. Crea (o vacía) el archivo.
+     * @param file Archivo del registro.
+     * @param maxBytes Tamaño a partir del cual se rota; 0: sin límite.
+     * @param maxCycles Ciclos que abarca cada archivo; 0: sin límite.
+     * @param backups Archivos rotados que se conservan.
+     * @throws IOException Si no se puede crear el archivo.
+     */
+    public EventLogWriter(Path file, long maxBytes, long maxCycles, int backups) throws IOException {
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.maxCycles = maxCycles;
+        this.backups = Math.max(0, backups);
+        this.channel = open();
+    }
+
+    private FileChannel open() throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Escribe una línea.
+     * @param cycle Ciclo del evento (para la rotación por ciclos).
+     * @param line Texto, sin salto de línea.
+     * @throws IOException Si falla la escritura.
+     */
+    public synchronized void write(long cycle, CharSequence line) throws IOException {
+        if (channel == null) throw new IOException("Registro cerrado");
+        if (fileFirstCycle >= 0 && ((maxBytes > 0 && fileBytes >= maxBytes)
+                || (maxCycles > 0 && cycle - fileFirstCycle >= maxCycles))) {
+            rotate();
+        }
+        if (fileFirstCycle < 0) fileFirstCycle = cycle;
+        encode(CharBuffer.wrap(line));
+        encode(CharBuffer.wrap(NEWLINE));
+    }
+
+    private void encode(CharBuffer chars) throws IOException {
+        encoder.reset();
+        while (true) {
+            int before = buffer.position();
+            CoderResult r = encoder.encode(chars, buffer, true);
+            fileBytes += buffer.position() - before;
+            if (r.isOverflow()) {
+                drain();
+            } else {
+                if (r.isError()) r.throwException();
+                break;
+            }
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    private void rotate() throws IOException {
+        drain();
+        channel.close();
+        if (backups == 0) {
+            Files.deleteIfExists(file);
+        } else {
+            Files.deleteIfExists(backup(backups));
+            for (int i = backups - 1; i >= 1; i--) {
+                if (Files.exists(backup(i))) Files.move(backup(i), backup(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.move(file, backup(1), StandardCopyOption.REPLACE_EXISTING);
+        }
+        channel = open();
+        fileBytes = 0;
+        fileFirstCycle = -1;
+    }
+
+    private Path backup(int i) {
+        return file.resolveSibling(file.getFileName() + "." + i);
+    }
+
+    /**
+     * Vuelca al archivo lo que esté en el búfer.
+     * @throws IOException Si falla la escritura.
+     */
+    public synchronized void flush() throws IOException {
+        if (channel == null) return;
+        drain();
+        channel.force(false);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel == null) return;
+        try {
+            drain();
+        } finally {
+            channel.close();
+            channel = null;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package sistemas.operativos.proyecto1;
+
+import sistemas.operativos.proyecto1.process.Process;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+
+/**
+ * Traza binaria de los eventos del CPU (los de events.log). Cada evento es un
+ * registro de ancho fijo (ciclo, tipo, núcleo, pid del proceso y un valor
+ * auxiliar) que se escribe sobre un archivo mapeado en memoria; el archivo
+ * crece por segmentos a medida que se llenan. Así, trazar cuesta 24 bytes
+ * por evento y nada de memoria del heap.
+ *
+ * Los nombres de los procesos se guardan una sola vez, en un archivo aparte
+ * ("traza.names", una línea "pid\tnombre" por proceso).
+ * {@link #decode(Path, Writer)} reconstruye el texto de events.log.
+ *
+ * Formato: una cabecera de 24 bytes (magia, versión, tamaño de registro,
+ * reservado y cantidad de registros) seguida de los registros.
+ * @author Sebastián
+ */
+public final class EventTrace implements AutoCloseable {
+    private static final int MAGIC = 0x534F4554;    // "SOET"
+    private static final int VERSION = 2;   // 2: pids en lugar de índices propios
+    static final int RECORD_BYTES = 24;
+    private static final int HEADER_BYTES = 24;
+    private static final int COUNT_OFFSET = 16;
+    private static final long SEGMENT_RECORDS = 1 << 18;   // 6 MiB por segmento
+    private static final long SEGMENT_BYTES = SEGMENT_RECORDS * RECORD_BYTES;
+
+    /**
+     * Tipos de evento, con el texto que les corresponde en events.log.
+     */
+    public enum Kind {
+        IO_DONE, DISPATCH, STEAL, PREEMPT;
+
+        /**
+         * Línea de events.log del evento.
+         * @param cycle Ciclo.
+         * @param core Núcleo.
+         * @param name Nombre del proceso.
+         * @param aux Valor auxiliar (núcleo víctima en STEAL).
+         * @param other Nombre del otro proceso (el que expulsa, en PREEMPT).
+         */
+        public String render(long cycle, int core, String name, long aux, String other) {
+            String prefix = "[" + pad(cycle) + "] ";
+            return switch (this) {
+                case IO_DONE -> prefix + "IO-DONE " + name + " -> READY (t=" + cycle + ")";
+                case DISPATCH -> prefix + "DISPATCH " + name;
+                case STEAL -> prefix + "STEAL " + name + " núcleo " + core + " <- " + aux;
+                case PREEMPT -> prefix + "PREEMPT " + name + " por " + other;
+            };
+        }
+    }
+
+    /** Como "%06d", sin pasar por String.format. */
+    private static String pad(long n) {
+        String s = Long.toString(n);
+        return (n < 0 || s.length() >= 6) ? s : "000000".substring(s.length()) + s;
+    }
+
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final BufferedWriter names;
+    private MappedByteBuffer segment;
+    private long segmentStart;      // posición en el archivo del segmento actual
+    private long count = 0;
+    private final BitSet named = new BitSet();   // pids cuyo nombre ya se anotó
+
+    private EventTrace(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.names = Files.newBufferedWriter(namesFile(file), StandardCharsets.UTF_8);
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(RECORD_BYTES).putInt(0).putLong(0);
+        this.segmentStart = HEADER_BYTES;
+        this.segment = map(segmentStart);
+    }
+
+    /**
+     * Crea (o vacía) una traza.
+     * @param file Archivo de la traza.
+     * @throws IOException Si no se puede crear.
+     */
+    public static EventTrace open(Path file) throws IOException {
+        return new EventTrace(file);
+    }
+
+    private static Path namesFile(Path file) {
+        return file.resolveSibling(file.getFileName() + ".names");
+    }
+
+    private MappedByteBuffer map(long position) throws IOException {
+        MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_WRITE, position, SEGMENT_BYTES);
+        buf.order(ByteOrder.LITTLE_ENDIAN);
+        return buf;
+    }
+
+    public long count() { return count; }
+
+    /**
+     * Agrega un evento.
+     * @param cycle Ciclo.
+     * @param kind Tipo de evento.
+     * @param core Núcleo.
+     * @param p Proceso.
+     * @param aux Valor auxiliar.
+     * @throws IOException Si no se puede mapear un segmento nuevo.
+     */
+    public void append(long cycle, Kind kind, int core, Process p, long aux) throws IOException {
+        if (!segment.hasRemaining()) {
+            segmentStart += SEGMENT_BYTES;
+            segment = map(segmentStart);
+            header.putLong(COUNT_OFFSET, count);
+        }
+        segment.putLong(cycle)
+               .putShort((short) kind.ordinal())
+               .putShort((short) core)
+               .putInt(pidOf(p))
+               .putLong(aux);
+        count++;
+    }
+
+    /**
+     * Pid del proceso; la primera vez que aparece se anota su nombre.
+     */
+    public int pidOf(Process p) throws IOException {
+        int pid = p.pid();
+        if (!named.get(pid)) {
+            named.set(pid);
+            names.write(pid + "\t" + p.name());
+            names.newLine();
+        }
+        return pid;
+    }
+
+    /**
+     * Escribe a disco lo trazado hasta ahora (cantidad de registros incluida).
+     * @throws IOException Si falla la escritura.
+     */
+    public void flush() throws IOException {
+        header.putLong(COUNT_OFFSET, count);
+        segment.force();
+        header.force();
+        names.flush();
+    }
+
+    /**
+     * Cierra la traza, recortando el archivo al último registro (el último
+     * segmento se mapea completo).
+     * @throws IOException Si falla la escritura.
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+        names.close();
+        channel.truncate(HEADER_BYTES + count * RECORD_BYTES);
+        channel.close();
+    }
+
+    /**
+     * Reconstruye el texto de events.log a partir de una traza.
+     * @param file Archivo de la traza.
+     * @param out Destino (cada línea termina con el separador del sistema).
+     * @throws IOException Si no se puede leer la traza o no es válida.
+     */
+    public static void decode(Path file, Writer out) throws IOException {
+        String[] processNames = readNames(namesFile(file));
+        Kind[] kinds = Kind.values();
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer h = ch.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            h.order(ByteOrder.LITTLE_ENDIAN);
+            if (h.getInt() != MAGIC) throw new IOException("No es una traza de eventos");
+            int version = h.getInt();
+            if (version != VERSION) throw new IOException("Versión de traza no soportada: " + version);
+            if (h.getInt() != RECORD_BYTES) throw new IOException("Tamaño de registro inválido");
+            long total = h.getLong(COUNT_OFFSET);
+
+            String sep = System.lineSeparator();
+            long done = 0;
+            for (long pos = HEADER_BYTES; done < total; pos += SEGMENT_BYTES) {
+                long n = Math.min(SEGMENT_RECORDS, total - done);
+                MappedByteBuffer seg = ch.map(FileChannel.MapMode.READ_ONLY, pos, n * RECORD_BYTES);
+                seg.order(ByteOrder.LITTLE_ENDIAN);
+                for (long r = 0; r < n; r++) {
+                    long cycle = seg.getLong();
+                    int k = seg.getShort();
+                    if (k < 0 || k >= kinds.length) throw new IOException("Tipo de evento inválido: " + k);
+                    Kind kind = kinds[k];
+                    int core = seg.getShort();
+                    String name = nameOf(processNames, seg.getInt());
+                    long aux = seg.getLong();
+                    String other = (kind == Kind.PREEMPT) ? nameOf(processNames, aux) : null;
+                    out.write(kind.render(cycle, core, name, aux, other));
+                    out.write(sep);
+                }
+                done += n;
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Lee los nombres de los procesos, indexados por pid.
+     */
+    private static String[] readNames(Path file) throws IOException {
+        String[] res = new String[16];
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                int tab = line.indexOf('\t');
+                if (tab < 0) throw new IOException("Línea de nombres inválida: " + line);
+                int pid;
+                try {
+                    pid = Integer.parseInt(line.substring(0, tab));
+                } catch (NumberFormatException e) {
+                    throw new IOException("Línea de nombres inválida: " + line);
+                }
+                if (pid < 0) throw new IOException("Pid inválido: " + pid);
+                if (pid >= res.length) res = java.util.Arrays.copyOf(res, Math.max(res.length * 2, pid + 1));
+                res[pid] = line.substring(tab + 1);
+            }
+        }
+        return res;
+    }
+
+    private static String nameOf(String[] names, long pid) throws IOException {
+        if (pid < 0 || pid >= names.length || names[(int) pid] == null) {
+            throw new IOException("Falta el nombre del proceso " + pid + " en el archivo de nombres");
+        }
+        return names[(int) pid];
+    }
+
+    /**
+     * Uso: EventTrace traza [salida]. Sin salida, escribe en la consola.
+     */
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Uso: EventTrace traza [salida]");
+            System.exit(1);
+            return;
+        }
+        try (Writer out = (args.length == 2)
+                ? Files.newBufferedWriter(Paths.get(args[1]), StandardCharsets.UTF_8)
+                : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))) {
+            decode(Paths.get(args[0]), out);
+        } catch (IOException e) {
+            System.err.println("No se pudo decodificar " + args[0] + ": " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
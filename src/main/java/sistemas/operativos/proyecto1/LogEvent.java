@@ -0,0 +1,65 @@
+package sistemas.operativos.proyecto1;
+
+import sistemas.operativos.proyecto1.process.Process;
+
+/**
+ * Eventos del registro de la simulación. Cada evento guarda sólo sus
+ * argumentos (ver {@link EventLog}); el texto se arma al leerlo.
+ * @author Sebastián
+ */
+public enum LogEvent {
+    MESSAGE {
+        String text(Object a, Object b, long n) { return String.valueOf(a); }
+    },
+    CREATED_READY {
+        String text(Object a, Object b, long n) { return "Proceso \"" + nameOf(a) + "\" ha hizo creado y se ha puesto en la cola de listos."; }
+    },
+    CREATED_PENDING {
+        String text(Object a, Object b, long n) { return "Proceso \"" + nameOf(a) + "\" ha hizo creado y llegará en el ciclo " + n + "."; }
+    },
+    CREATED_BATCH {
+        String text(Object a, Object b, long n) { return "Se han creado " + n + " procesos."; }
+    },
+    ARRIVED {
+        String text(Object a, Object b, long n) { return "Proceso \"" + nameOf(a) + "\" ha llegado y se ha puesto en la cola de listos."; }
+    },
+    IO_DONE {
+        String text(Object a, Object b, long n) { return "I/O compledato para \"" + nameOf(a) + "\"."; }
+    },
+    IO_READY {
+        String text(Object a, Object b, long n) { return "Proceso \"" + nameOf(a) + "\" se ha puesto en cola de listos."; }
+    },
+    DISPATCHED {
+        String text(Object a, Object b, long n) { return "Proceso \"" + nameOf(a) + "\" se ha puesto en cola de listos."; }
+    },
+    RUNNING {
+        String text(Object a, Object b, long n) { return "Proceso \"" + nameOf(a) + "\" se ha puesto en ejecución."; }
+    },
+    QUANTUM_EXPIRED {
+        String text(Object a, Object b, long n) { return "Se ha terminado el quantum para el proceso \"" + nameOf(a) + "\" y se ha puesto en la cola de listos."; }
+    },
+    PRIORITY_REDUCED {
+        String text(Object a, Object b, long n) { return "Se ha reducido el nivel de prioridad del proceso \"" + nameOf(a) + "\" a " + n + "."; }
+    },
+    BLOCKED {
+        String text(Object a, Object b, long n) { return "Proceso \"" + nameOf(a) + "\" se ha bloqueado y puesto en la cola de bloqueados."; }
+    },
+    FINISHED {
+        String text(Object a, Object b, long n) { return "Proceso \"" + nameOf(a) + "\" se ha terminado y puesto en la cola de terminados."; }
+    },
+    PREEMPTED {
+        String text(Object a, Object b, long n) { return "Proceso \"" + nameOf(a) + "\" ha sido expulsado por \"" + nameOf(b) + "\" y se ha puesto en la cola de listos."; }
+    };
+
+    /**
+     * Texto del evento.
+     * @param a Primer argumento (un proceso o un texto).
+     * @param b Segundo argumento.
+     * @param n Argumento numérico.
+     */
+    abstract String text(Object a, Object b, long n);
+
+    private static String nameOf(Object o) {
+        return (o instanceof Process p) ? p.name() : String.valueOf(o);
+    }
+}
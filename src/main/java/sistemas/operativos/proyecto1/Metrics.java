@@ -0,0 +1,103 @@
+package sistemas.operativos.proyecto1;
+
+import sistemas.operativos.proyecto1.lib.BinaryReader;
+import sistemas.operativos.proyecto1.lib.BinaryWriter;
+import java.io.IOException;
+
+/**
+ * Acumuladores de las métricas del simulador. Se actualizan en los eventos
+ * que las modifican (creación, despacho y fin de un proceso), así que leer
+ * los promedios es O(1) en lugar de recorrer todos los procesos.
+ * @author Sebastián
+ */
+public class Metrics {
+    private long totalProcesses = 0;
+    private long completed = 0;
+
+    // Espera: Σw y Σ(w^2) sobre el tiempo de espera total de cada proceso
+    private long sumWait = 0;
+    private double sumWait2 = 0.0;
+
+    private long sumResp = 0;
+    private long respCount = 0;
+    private long sumTurn = 0;
+    private long turnCount = 0;
+
+    public synchronized void onProcessCreated() { totalProcesses++; }
+    public synchronized void onProcessesCreated(int n) { totalProcesses += n; }
+
+    /**
+     * El tiempo de espera total de un proceso pasó de "before" a "after".
+     */
+    public synchronized void onWaitAccrued(long before, long after) {
+        if (after == before) return;
+        sumWait += after - before;
+        sumWait2 += ((double) after) * after - ((double) before) * before;
+    }
+
+    /**
+     * Primer despacho de un proceso.
+     * @param response Tiempo de respuesta (primer ciclo en ejecución - llegada).
+     */
+    public synchronized void onFirstDispatch(long response) {
+        sumResp += response;
+        respCount++;
+    }
+
+    /**
+     * Fin de un proceso.
+     * @param turnaround Tiempo de retorno (fin - llegada).
+     */
+    public synchronized void onFinish(long turnaround) {
+        completed++;
+        sumTurn += turnaround;
+        turnCount++;
+    }
+
+    public synchronized long totalProcesses() { return totalProcesses; }
+    public synchronized long completed() { return completed; }
+
+    public synchronized double avgWait() {
+        return (totalProcesses == 0) ? 0 : (double) sumWait / totalProcesses;
+    }
+
+    public synchronized double avgResp() {
+        return (respCount == 0) ? 0 : (double) sumResp / respCount;
+    }
+
+    public synchronized double avgTurn() {
+        return (turnCount == 0) ? 0 : (double) sumTurn / turnCount;
+    }
+
+    /**
+     * Equidad de Jain sobre los tiempos de espera:
+     * J = ( (Σw)^2 ) / ( n * Σ(w^2) ),  0 < J ≤ 1 (1 es perfectamente justo)
+     */
+    public synchronized double fairness() {
+        if (totalProcesses == 0 || sumWait2 == 0.0) return 1.0;
+        double sw = sumWait;
+        return (sw * sw) / (totalProcesses * sumWait2);
+    }
+
+    synchronized void writeTo(BinaryWriter out) throws IOException {
+        out.writeLong(totalProcesses);
+        out.writeLong(completed);
+        out.writeLong(sumWait);
+        out.writeDouble(sumWait2);
+        out.writeLong(sumResp);
+        out.writeLong(respCount);
+        out.writeLong(sumTurn);
+        out.writeLong(turnCount);
+    }
+
+    synchronized void readFrom(BinaryReader in) throws IOException {
+        totalProcesses = in.readLong();
+        completed = in.readLong();
+        sumWait = in.readLong();
+        sumWait2 = in.readDouble();
+        sumResp = in.readLong();
+        respCount = in.readLong();
+        sumTurn = in.readLong();
+        turnCount = in.readLong();
+    }
+}
@@ -0,0 +1,43 @@
+package sistemas.operativos.proyecto1;
+
+/**
+ * Salida de mensajes del simulador, con niveles. El motor pregunta primero
+ * si el nivel está habilitado ({@link #isEnabled(Level)}) y sólo entonces arma
+ * el mensaje, así que con {@link #NONE}, o con los niveles bajos apagados
+ * (como en los modos por lotes), no se concatena nada ni se escribe en la
+ * consola.
+ * @author Sebastián
+ */
+public interface Output {
+    enum Level { DEBUG, INFO, WARN, ERROR }
+
+    /** Descarta todo. */
+    Output NONE = new Output() {
+        @Override public boolean isEnabled(Level level) { return false; }
+        @Override public void write(Level level, String message) { }
+    };
+
+    boolean isEnabled(Level level);
+
+    /**
+     * Escribe un mensaje ya armado.
+     * @param level Nivel.
+     * @param message Mensaje.
+     */
+    void write(Level level, String message);
+
+    /**
+     * Salida a la consola: los avisos y errores a la System.err de cada
+     * momento, el resto a la System.out.
+     * @param min Nivel mínimo que se escribe.
+     */
+    static Output console(Level min) {
+        return new Output() {
+            @Override public boolean isEnabled(Level level) { return level.compareTo(min) >= 0; }
+            @Override public void write(Level level, String message) {
+                if (level.compareTo(Level.WARN) >= 0) System.err.println(message);
+                else System.out.println(message);
+            }
+        };
+    }
+}
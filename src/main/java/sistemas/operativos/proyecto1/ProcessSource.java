@@ -0,0 +1,16 @@
+package sistemas.operativos.proyecto1;
+
+/**
+ * Fuente de procesos que el CPU consume a medida que llegan, en lugar de
+ * crearlos todos de antemano. Así sólo existen los procesos que ya llegaron
+ * (más uno por adelantado).
+ * @author Sebastián
+ */
+@FunctionalInterface
+public interface ProcessSource {
+    /**
+     * Siguiente proceso. Los tiempos de llegada deben ser no decrecientes.
+     * @return Proceso, o null si ya no hay más.
+     */
+    ProcessSpec next();
+}
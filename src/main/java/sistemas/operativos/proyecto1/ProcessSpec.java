@@ -0,0 +1,54 @@
+package sistemas.operativos.proyecto1;
+
+import sistemas.operativos.proyecto1.process.ProcessType;
+
+/**
+ * Parámetros de un proceso por crear, en el formato de texto
+ * "nombre,llegada,instrucciones,tipo,ciclosExc,ciclosSat,prioridad".
+ * @author Sebastián
+ */
+public final class ProcessSpec {
+    public final String name;
+    public final int arrivalTime;
+    public final int instructions;
+    public final ProcessType type;
+    public final int cyclesForException;
+    public final int cyclesToSatisfy;
+    public final int priority;
+
+    public ProcessSpec(String name, int arrivalTime, int instructions, ProcessType type, int cyclesForException, int cyclesToSatisfy, int priority) {
+        this.name = name;
+        this.arrivalTime = arrivalTime;
+        this.instructions = instructions;
+        this.type = type;
+        this.cyclesForException = cyclesForException;
+        this.cyclesToSatisfy = cyclesToSatisfy;
+        this.priority = priority;
+    }
+
+    /**
+     * Lee un proceso en formato de texto.
+     * @param spec "nombre,llegada,instrucciones,tipo,ciclosExc,ciclosSat,prioridad".
+     * @return Proceso leído.
+     * @throws IllegalArgumentException Si el formato no es válido.
+     */
+    public static ProcessSpec parse(String spec) {
+        String[] f = spec.split(",");
+        if (f.length != 7) throw new IllegalArgumentException("se esperan 7 campos");
+        return new ProcessSpec(f[0].trim(),
+                Integer.parseInt(f[1].trim()),
+                Integer.parseInt(f[2].trim()),
+                ProcessType.valueOf(f[3].trim().toUpperCase()),
+                Integer.parseInt(f[4].trim()),
+                Integer.parseInt(f[5].trim()),
+                Integer.parseInt(f[6].trim()));
+    }
+
+    /**
+     * Crea el proceso en un simulador.
+     * @param sim Simulador.
+     */
+    public void createIn(Simulator sim) {
+        sim.createProcess(name, arrivalTime, instructions, type, cyclesForException, cyclesToSatisfy, priority);
+    }
+}
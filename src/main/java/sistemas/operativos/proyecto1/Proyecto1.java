@@ -13,9 +13,35 @@ import javax.swing.JFrame;
 public class Proyecto1 {
 
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            BatchRunner.main(java.util.Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--sweep")) {
+            SweepRunner.main(java.util.Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        
         Stats stats = new Stats();
-        Config config = new Config();
-        Simulator sim = new Simulator(stats, config);
+        Simulator sim;
+        if (args.length > 1 && args[0].equals("--resume")) {
+            try {
+                sim = Checkpoint.restore(java.nio.file.Paths.get(args[1]), stats);
+            } catch (java.io.IOException e) {
+                System.err.println("No se pudo reanudar desde " + args[1] + ": " + e.getMessage());
+                System.exit(1);
+                return;
+            }
+        } else {
+            Config config = new Config();
+            ConfigFile.loadIfExists(config, java.nio.file.Paths.get(config.getConfigFile()));
+            sim = new Simulator(stats, config);
+        }
+        try {
+            ConfigFile.watch(sim.getConfig(), java.nio.file.Paths.get(sim.getConfig().getConfigFile()));
+        } catch (java.io.IOException e) {
+            System.err.println("No se puede vigilar " + sim.getConfig().getConfigFile() + ": " + e.getMessage());
+        }
 
         JFrame simulatorView = new MainView(sim, stats);
         simulatorView.setVisible(true);
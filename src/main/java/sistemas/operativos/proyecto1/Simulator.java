@@ -1,8 +1,6 @@
 package sistemas.operativos.proyecto1;
 
-import sistemas.operativos.proyecto1.process.Process;
 import sistemas.operativos.proyecto1.process.ProcessType;
-import sistemas.operativos.proyecto1.lib.LinkedList;
 
 /**
  * Clase simulador del proyecto.
@@ -14,6 +12,8 @@ public class Simulator {
     private final Stats stats;
     private Thread cpuThread, ioThread;
     private volatile boolean running = false;
+    private static final long QUEUES_PUBLISH_INTERVAL = 100_000_000L;   // 100 ms, lo que refresca la GUI
+    private long lastQueuesPublish = System.nanoTime() - QUEUES_PUBLISH_INTERVAL;
     /**
      * Constructor.
      * @param stats
@@ -30,8 +30,12 @@ public class Simulator {
      * @param config Configuración del simulador.
      */
     public Simulator(Stats stats, Config config) {
+        this(stats, config, new CPU(config, stats));
+    }
+    
+    Simulator(Stats stats, Config config, CPU cpu) {
         this.config = config;
-        this.cpu = new CPU(config, stats);
+        this.cpu = cpu;
         this.stats = stats;
     }
     
@@ -40,117 +44,80 @@ public class Simulator {
     }
 
     /**
-     * Inicia la simulación, ejecutando la función de ejecución de ciclo
-     * adecuada, dependiendo de la política de planificación actual.
+     * Inicia la simulación. La política de planificación se consulta en cada
+     * ciclo, así que un cambio de política aplica desde el ciclo siguiente.
      */
     public void startSimulation() {
-        switch(config.getPolicy()) {
-            case PlanPolicy.FCFS -> {
-                System.out.println("First-Come, First-Served");  
-                for (int i = 1; i < config.getCyclesAmount() + 1; i++) {
-                    if(Thread.currentThread().isInterrupted()) {
-                        stats.addLog("Simulación pausada.");
-                        return;
-                    }
-                    
-                    stats.setCurrentCycle();
-                    cpu.simulateCycleFCFS();
-                    updateReport();
-                    if(cpu.isActive()) {
-                        stats.addLog("Simulación finalizada.");
-                        return;
-                    }
-                }
-            }
-            case RR -> {
-                System.out.println("Round Robin");  
-                for (int i = 1; i < config.getCyclesAmount() + 1; i++) {
-                    if(Thread.currentThread().isInterrupted()) {
-                        stats.addLog("Simulación pausada.");
-                        return;
-                    }
-                    
-                    stats.setCurrentCycle();
-                    cpu.simulateCycleRR();
-                    updateReport();
-                    if(cpu.isActive()) {
-                        stats.addLog("Simulación finalizada.");
-                        return;
-                    }
-                }
-            }
-            case SPN -> {
-                System.out.println("Shortest Process Next");
-                for (int i = 1; i < config.getCyclesAmount() + 1; i++) {
-                    if(Thread.currentThread().isInterrupted()) {
-                        stats.addLog("Simulación pausada.");
-                        return;
-                    }
-                    
-                    stats.setCurrentCycle();
-                    cpu.simulateCycleSPN();
-                    updateReport();
-                    if(cpu.isActive()) {
-                        stats.addLog("Simulación finalizada.");
-                        return;
-                    }
-                }
-            }
-            case SRT -> {
-                System.out.println("Shortest Remaining Time");
-                for (int i = 1; i < config.getCyclesAmount() + 1; i++) {
-                    if(Thread.currentThread().isInterrupted()) {
-                        stats.addLog("Simulación pausada.");
-                        return;
-                    }
-                    
-                    stats.setCurrentCycle();
-                    cpu.simulateCycleSPN();
-                    updateReport();
-                    if(cpu.isActive()) {
-                        stats.addLog("Simulación finalizada.");
-                        return;
-                    }
-                }
-            }
-            case PRI -> {
-                System.out.println("Cola por prioridad");  
-                for (int i = 1; i < config.getCyclesAmount() + 1; i++) {
-                    if(Thread.currentThread().isInterrupted()) {
-                        stats.addLog("Simulación pausada.");
-                        return;
-                    }
-                    
-                    stats.setCurrentCycle();
-                    cpu.simulateCyclePRI();
-                    updateReport();
-                    if(cpu.isActive()) {
-                        stats.addLog("Simulación finalizada.");
-                        return;
-                    }
+        Output out = config.getOutput();
+        if (out.isEnabled(Output.Level.INFO)) out.write(Output.Level.INFO, cpu.getScheduler().name());
+        openEventLog();
+        try {
+            for (int i = 1; i < config.getCyclesAmount() + 1; i++) {
+                if(Thread.currentThread().isInterrupted()) {
+                    stats.addLog("Simulación pausada.");
+                    flushEventLog();
+                    saveCheckpointOnPause();
+                    return;
                 }
-            }
-            case MFQ -> {
-                System.out.println("Multilevel Feedback Queue");  
-                for (int i = 1; i < config.getCyclesAmount() + 1; i++) {
-                    if(Thread.currentThread().isInterrupted()) {
-                        stats.addLog("Simulación pausada.");
-                        return;
-                    }
-                    
-                    stats.setCurrentCycle();
-                    cpu.simulateCycleMFQ();
-                    updateReport();
-                    if(cpu.isActive()) {
-                        stats.addLog("Simulación finalizada.");
-                        return;
-                    }
+
+                i = fastForward(i);
+                stats.setCurrentCycle();
+                cpu.simulateCycle();
+                updateReport();
+                if(cpu.isActive()) {
+                    stats.addLog("Simulación finalizada.");
+                    // updateReport publica las colas cada 100 ms: al terminar
+                    // se publica el estado final
+                    printReport();
+                    closeEventLog();
+                    return;
                 }
             }
-            default -> throw new AssertionError(config.getPolicy().name());
+        } finally {
+            cpu.stopCoreThreads();
         }
         printReport();
-        dumpLogToFile();
+        closeEventLog();
+    }
+    
+    /**
+     * Guarda la simulación en un punto de control (ver {@link Checkpoint}).
+     * Debe llamarse con la simulación detenida.
+     * @param file Archivo destino.
+     * @throws java.io.IOException Si falla la escritura.
+     */
+    public void saveCheckpoint(java.nio.file.Path file) throws java.io.IOException {
+        Checkpoint.save(this, cpu, stats, file);
+    }
+    
+    private void saveCheckpointOnPause() {
+        String file = config.getCheckpointFile();
+        if (file == null) return;
+        // La pausa llega como interrupción, y con la bandera puesta el canal
+        // del archivo se cerraría al escribir: se quita y se repone al final
+        boolean interrupted = Thread.interrupted();
+        try {
+            saveCheckpoint(java.nio.file.Paths.get(file));
+            stats.addLog("Punto de control guardado en " + file + ".");
+        } catch (java.io.IOException e) {
+            error("No se pudo guardar " + file + ": " + e.getMessage());
+        } finally {
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Salta, de una vez, los ciclos en que no ocurre ningún evento antes del
+     * próximo (ver {@link CPU#fastForward(long)}).
+     * @param i Ciclo actual del bucle de simulación.
+     * @return Ciclo del bucle desde el cual continuar.
+     */
+    private int fastForward(int i) {
+        long skipped = cpu.fastForward(config.getCyclesAmount() - i);
+        if (skipped > 0) {
+            stats.setCurrentCycle(stats.currentCycle + skipped);
+        }
+        return i + (int) skipped;
     }
     
     /**
@@ -168,186 +135,170 @@ public class Simulator {
         cpu.createProcess(name, arrivalTime, instructions, type, cyclesForException, cyclesToSatisfy, priority);
     }
     
+    /**
+     * Crea varios procesos de una vez (ver {@link CPU#submitBatch}).
+     * @param batch Procesos por crear.
+     */
+    public void createProcesses(ProcessSpec... batch) {
+        cpu.submitBatch(batch, batch.length);
+    }
+    
+    /**
+     * Crea los primeros count procesos de batch de una vez.
+     * @param batch Procesos por crear.
+     * @param count Cantidad de procesos.
+     */
+    public void createProcesses(ProcessSpec[] batch, int count) {
+        cpu.submitBatch(batch, count);
+    }
+    
+    /**
+     * Conecta una fuente de procesos que se crean a medida que llegan (ver
+     * {@link CPU#attachSource(ProcessSource)}).
+     * @param source Fuente de procesos.
+     */
+    public void attachSource(ProcessSource source) {
+        cpu.attachSource(source);
+    }
+    
+    /**
+     * Publica las métricas finales y el estado de las colas.
+     */
     public void printReport() {
-        LinkedList<Process> procs = cpu.getAllProcesses();
-        int n = procs.size();
+        report();
+        publishQueues();
+    }
+    
+    /**
+     * Publica las métricas después de cada ciclo. Las métricas son
+     * acumuladores (ver {@link Metrics}), así que esto es O(1); las copias de
+     * las colas para la interfaz se refrescan a lo sumo cada 100 ms.
+     */
+    public void updateReport() {
+        report();
+        long now = System.nanoTime();
+        if (now - lastQueuesPublish >= QUEUES_PUBLISH_INTERVAL) {
+            lastQueuesPublish = now;
+            publishQueues();
+        }
+    }
+    
+    private void report() {
+        Metrics m = cpu.getMetrics();
+        long n = m.totalProcesses();
         if (n == 0) {
-            System.out.println("No hay procesos para reportar.");
+            Output out = config.getOutput();
+            if (out.isEnabled(Output.Level.DEBUG)) out.write(Output.Level.DEBUG, "No hay procesos para reportar.");
             stats.setTotalProcesses(0);
             stats.setCompletedProcesses(0);
             stats.setAvgWait(0);
             stats.setAvgResp(0);
             stats.setAvgTurn(0);
             stats.setUtil(0);
+            stats.setCoreUtil(new double[cpu.getCoreCount()]);
             stats.setThroughput(0);
             stats.setFairness(1.0);
             stats.setCurrentProcess(null);
             return;
         }
-
-        long completed = 0;
-        long sumWait = 0;
-        long sumResp = 0;
-        long sumTurn = 0;
         
-        int respCount = 0;
-        int turnCount = 0;
-
-        // Para “equidad” (fairness), usaremos Jain sobre el tiempo de espera:
-        // J = ( (Σw)^2 ) / ( n * Σ(w^2) ),  0< J ≤ 1 (1 es perfectamente justo)
-        double sumW = 0.0;
-        double sumW2 = 0.0;
-
-        for (int i = 0; i < n; i++) {
-            var p = procs.get(i);
-            
-            Integer start  = p.firstRun();
-            Integer finish = p.finishTime();
-            long wait      = p.totalWait();
-            Integer arr    = p.arrival();
-
-            Integer resp   = (start == null || arr == null)  ? null : (start - arr);
-            Integer turn   = (finish == null || arr == null) ? null : (finish - arr);
+        long completed = m.completed();
 
-            if (finish != null) completed++;
-
-            sumWait += wait;
-             if (resp != null) { sumResp += resp; respCount++; }
-             if (turn != null) { sumTurn += turn; turnCount++; }
-             
-            sumW  += wait;
-            sumW2 += ((double) wait) * wait;
-        }
-
-        // Promedios (se calculan sobre los que tienen valor)
-        double avgWait = (n == 0) ? 0 : (double) sumWait / n;
-        double avgResp = (respCount == 0) ? 0 : (double) sumResp / respCount;
-        double avgTurn = (turnCount == 0) ? 0 : (double) sumTurn / turnCount;
-
-        // Utilización de CPU
+        // Utilización de CPU (promedio de los núcleos) y de cada núcleo
         long busy = cpu.getBusyCycles();
         long totalCycles = config.getCyclesAmount();
-        double util = (totalCycles == 0) ? 0 : (100.0 * busy / totalCycles);
+        int coreCount = cpu.getCoreCount();
+        double util = (totalCycles == 0) ? 0 : (100.0 * busy / (totalCycles * coreCount));
+        double[] coreUtil = stats.coreUtil;
+        if (coreUtil.length != coreCount) coreUtil = new double[coreCount];
+        for (int c = 0; c < coreCount; c++) {
+            coreUtil[c] = (totalCycles == 0) ? 0 : (100.0 * cpu.getBusyCycles(c) / totalCycles);
+        }
 
         // Throughput = procesos completados / tiempo total simulado (en ciclos)
         double throughput = (totalCycles == 0) ? 0 : ((double) completed / totalCycles);
-
-        // Fairness (Jain) sobre los tiempos de espera
-        double fairness  = (n == 0 || sumW2 == 0.0) ? 1.0 : ((sumW * sumW) / (n * sumW2));
         
         stats.setTotalProcesses(n);
         stats.setCompletedProcesses(completed);
-        stats.setAvgWait(avgWait);
-        stats.setAvgResp(avgResp);
-        stats.setAvgTurn(avgTurn);
+        stats.setAvgWait(m.avgWait());
+        stats.setAvgResp(m.avgResp());
+        stats.setAvgTurn(m.avgTurn());
         stats.setUtil(util);
+        stats.setCoreUtil(coreUtil);
         stats.setThroughput(throughput);
-        stats.setFairness(fairness);
+        stats.setFairness(m.fairness());
         
         stats.setCurrentProcess(this.cpu.getCurrentProcess());
+    }
+    
+    private void publishQueues() {
         stats.setReadyQueue(this.cpu.getReadyQueue());
         stats.setIoQueue(this.cpu.getIoQueue());
+        stats.setFinishedQueue(this.cpu.getFinishedQueue());
     }
     
-    public void updateReport() {
-        LinkedList<Process> procs = cpu.getAllProcesses();
-        int n = procs.size();
-        if (n == 0) {
-            System.out.println("No hay procesos para reportar.");
-            stats.setTotalProcesses(0);
-            stats.setCompletedProcesses(0);
-            stats.setAvgWait(0);
-            stats.setAvgResp(0);
-            stats.setAvgTurn(0);
-            stats.setUtil(0);
-            stats.setThroughput(0);
-            stats.setFairness(1.0);
-            stats.setCurrentProcess(null);
-            return;
+    /**
+     * Abre el destino de los eventos del CPU, si aún no tiene uno: la traza
+     * binaria si la configuración la pide (ver {@link EventTrace}), o si no
+     * events.log, que se escribe a medida que ocurren los eventos y rota
+     * según la configuración (ver {@link EventLogWriter}).
+     */
+    private void openEventLog() {
+        if (cpu.getTrace() != null || cpu.getEventLog() != null) return;
+        String file = config.getTraceFile();
+        try {
+            if (file != null) {
+                cpu.setTrace(EventTrace.open(java.nio.file.Paths.get(file)));
+                return;
+            }
+            file = config.getEventLogFile();
+            if (file == null) return;
+            cpu.setEventLog(new EventLogWriter(java.nio.file.Paths.get(file), config.getEventLogMaxBytes(),
+                    config.getEventLogMaxCycles(), config.getEventLogBackups()));
+        } catch (java.io.IOException e) {
+            error("No se pudo crear " + file + ": " + e.getMessage());
         }
-
-        long completed = 0;
-        long sumWait = 0;
-        long sumResp = 0;
-        long sumTurn = 0;
-        
-        int respCount = 0;
-        int turnCount = 0;
-
-        // Para “equidad” (fairness), usaremos Jain sobre el tiempo de espera:
-        // J = ( (Σw)^2 ) / ( n * Σ(w^2) ),  0< J ≤ 1 (1 es perfectamente justo)
-        double sumW = 0.0;
-        double sumW2 = 0.0;
-
-        for (int i = 0; i < n; i++) {
-            var p = procs.get(i);
-            
-            Integer start  = p.firstRun();
-            Integer finish = p.finishTime();
-            long wait      = p.totalWait();
-            Integer arr    = p.arrival();
-
-            Integer resp   = (start == null || arr == null)  ? null : (start - arr);
-            Integer turn   = (finish == null || arr == null) ? null : (finish - arr);
-
-            if (finish != null) completed++;
-
-            sumWait += wait;
-             if (resp != null) { sumResp += resp; respCount++; }
-             if (turn != null) { sumTurn += turn; turnCount++; }
-             
-            sumW  += wait;
-            sumW2 += ((double) wait) * wait;
+    }
+    
+    private void flushEventLog() {
+        // Como en saveCheckpointOnPause: con la bandera de interrupción puesta
+        // el canal de events.log se cerraría al escribir
+        boolean interrupted = Thread.interrupted();
+        try {
+            EventTrace trace = cpu.getTrace();
+            if (trace != null) trace.flush();
+            EventLogWriter writer = cpu.getEventLog();
+            if (writer != null) writer.flush();
+        } catch (java.io.IOException e) {
+            error("No se pudo escribir el registro de eventos: " + e.getMessage());
+        } finally {
+            if (interrupted) Thread.currentThread().interrupt();
         }
-
-        // Promedios (se calculan sobre los que tienen valor)
-        double avgWait = (n == 0) ? 0 : (double) sumWait / n;
-        double avgResp = (respCount == 0) ? 0 : (double) sumResp / respCount;
-        double avgTurn = (turnCount == 0) ? 0 : (double) sumTurn / turnCount;
-
-        // Utilización de CPU
-        long busy = cpu.getBusyCycles();
-        long totalCycles = config.getCyclesAmount();
-        double util = (totalCycles == 0) ? 0 : (100.0 * busy / totalCycles);
-
-        // Throughput = procesos completados / tiempo total simulado (en ciclos)
-        double throughput = (totalCycles == 0) ? 0 : ((double) completed / totalCycles);
-
-        // Fairness (Jain) sobre los tiempos de espera
-        double fairness  = (n == 0 || sumW2 == 0.0) ? 1.0 : ((sumW * sumW) / (n * sumW2));
-        
-        stats.setTotalProcesses(n);
-        stats.setCompletedProcesses(completed);
-        stats.setAvgWait(avgWait);
-        stats.setAvgResp(avgResp);
-        stats.setAvgTurn(avgTurn);
-        stats.setUtil(util);
-        stats.setThroughput(throughput);
-        stats.setFairness(fairness);
-        
-        stats.setCurrentProcess(this.cpu.getCurrentProcess());
-        stats.setReadyQueue(this.cpu.getReadyQueue());
-        stats.setIoQueue(this.cpu.getIoQueue());
     }
     
-    private void dumpLogToFile() {
+    private void closeEventLog() {
+        EventTrace trace = cpu.setTrace(null);
+        EventLogWriter writer = cpu.setEventLog(null);
         try {
-            java.nio.file.Path out = java.nio.file.Paths.get("events.log");
-            String[] lines = cpu.getEventLogArray();  // ← de CPU
-            String body = String.join(System.lineSeparator(), lines);
-            java.nio.file.Files.writeString(out, body, java.nio.charset.StandardCharsets.UTF_8);
-        } catch (Exception e) {
-            System.err.println("No se pudo escribir events.log: " + e.getMessage());
+            if (trace != null) trace.close();
+            if (writer != null) writer.close();
+        } catch (java.io.IOException e) {
+            error("No se pudo cerrar el registro de eventos: " + e.getMessage());
         }
     }
 
+    private void error(String msg) {
+        Output out = config.getOutput();
+        if (out.isEnabled(Output.Level.ERROR)) out.write(Output.Level.ERROR, msg);
+    }
+
     public void stopSimulation() {
         running = false;
         if (cpuThread != null) cpuThread.interrupt();
         if (ioThread  != null) ioThread.interrupt();
         cpu.enableExternalIOThread(false);
         printReport();
-        dumpLogToFile();
+        closeEventLog();
     }
     
     public long getCyclesDuration() { return config.getCycleDuration(); }
@@ -14,6 +14,7 @@ public class Stats {
     public double avgResp;
     public double avgTurn;
     public double util;
+    public double[] coreUtil;   // utilización de cada núcleo, en %
     public double throughput;
     public double fairness;
     
@@ -21,17 +22,29 @@ public class Stats {
     public LinkedList<Process> readyQueue;
     public LinkedList<Process> ioQueue;
     public LinkedList<Process> finishedQueue;
-    public LinkedList<String> logsList;
+    public final EventLog logs;
     
     public long currentCycle;
     
+    /** Eventos del registro que se conservan por defecto. */
+    public static final int DEFAULT_LOG_CAPACITY = 16384;
+    
     public Stats() {
+        this(DEFAULT_LOG_CAPACITY);
+    }
+    
+    /**
+     * Constructor.
+     * @param logCapacity Cantidad de eventos del registro que se conservan.
+     */
+    public Stats(int logCapacity) {
         this.totalProcesses = 0;
         this.completedProcesses = 0;
         this.avgWait = 0;
         this.avgResp = 0;
         this.avgTurn = 0;
         this.util = 0;
+        this.coreUtil = new double[0];
         this.throughput = 0;
         this.fairness = 0;
         
@@ -39,7 +52,7 @@ public class Stats {
         this.readyQueue = new LinkedList();
         this.ioQueue = new LinkedList();
         this.finishedQueue = new LinkedList();
-        this.logsList = new LinkedList();
+        this.logs = new EventLog(logCapacity);
         
         this.currentCycle = 0;
     }
@@ -50,6 +63,7 @@ public class Stats {
     public void setAvgResp(double avg) { avgResp = avg; }
     public void setAvgTurn(double avg) { avgTurn = avg; }
     public void setUtil(double per) { util = per; }
+    public void setCoreUtil(double[] per) { coreUtil = per; }
     public void setThroughput(double through) { throughput = through; }
     public void setFairness(double fair) { fairness = fair; }
     public void setCurrentCycle() { currentCycle++; }
@@ -65,19 +79,32 @@ public class Stats {
     public void setReadyQueue(LinkedList<Process> q) { readyQueue = q; }
     public void setIoQueue(LinkedList<Process> q) { ioQueue = q; }
     public void setFinishedQueue(LinkedList<Process> q) { finishedQueue = q; }
-    public void setLogsList(LinkedList<String> q) { logsList = q; }
     
     public void addLog(String msg) {
-        String log = "[" + java.time.LocalDateTime.now().toString() + "]: " + msg;
-        
-        logsList.addLast(log);
+        logs.add(currentCycle, LogEvent.MESSAGE, msg, null, 0);
+    }
+    
+    /**
+     * Registra un evento de la simulación; el texto se arma sólo al leerlo.
+     * @param event Evento.
+     * @param p Proceso involucrado.
+     */
+    public void log(LogEvent event, Process p) {
+        logs.add(currentCycle, event, p, null, 0);
+    }
+    public void log(LogEvent event, Process p, Process other) {
+        logs.add(currentCycle, event, p, other, 0);
+    }
+    public void log(LogEvent event, Process p, long n) {
+        logs.add(currentCycle, event, p, null, n);
     }
     
     public String[] getReadyQueueList() {
         String[] res = new String[readyQueue.size()];
         
-        for(int i = 0; i < res.length; i++) { 
-            res[i] = readyQueue.get(i).name();
+        int i = 0;
+        for(Process p : readyQueue) { 
+            res[i++] = p.name();
         }
         
         return res;
@@ -85,8 +112,9 @@ public class Stats {
     public String[] getIoQueueList() {
         String[] res = new String[ioQueue.size()];
         
-        for(int i = 0; i < res.length; i++) { 
-            res[i] = ioQueue.get(i).name();
+        int i = 0;
+        for(Process p : ioQueue) { 
+            res[i++] = p.name();
         }
         
         return res;
@@ -94,19 +122,14 @@ public class Stats {
     public String[] getFinishedQueueList() {
         String[] res = new String[finishedQueue.size()];
         
-        for(int i = 0; i < res.length; i++) { 
-            res[i] = finishedQueue.get(i).name();
+        int i = 0;
+        for(Process p : finishedQueue) { 
+            res[i++] = p.name();
         }
         
         return res;
     }
     public String[] getLogsList() {
-        String[] res = new String[logsList.size()];
-        
-        for(int i = 0; i < res.length; i++) { 
-            res[i] = logsList.get(i);
-        }
-        
-        return res;
+        return logs.toStringArray();
     }
 }
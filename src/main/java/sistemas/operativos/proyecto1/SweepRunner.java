@@ -0,0 +1,178 @@
+package sistemas.operativos.proyecto1;
+
+import sistemas.operativos.proyecto1.lib.LinkedList;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Barrido de parámetros: corre una simulación por lotes por cada combinación
+ * de política, quantum y carga, en paralelo, y junta las métricas finales en
+ * una tabla comparativa.
+ *
+ * Cada punto tiene su propio Simulator, CPU, Stats y Config (el simulador no
+ * tiene estado estático), así que los puntos son independientes y se
+ * reparten entre los hilos de un ForkJoinPool. Las políticas sin quantum se
+ * corren una sola vez por carga.
+ *
+ * Uso:
+ *   SweepRunner --workload archivo... [--policies FCFS,RR,...] [--quanta 5,10,...]
+ *               [--cycles N] [--cores N] [--threads N]
+ * @author Sebastián
+ */
+public class SweepRunner {
+    /**
+     * Métricas finales de un punto del barrido.
+     */
+    public static final class Result {
+        public final PlanPolicy policy;
+        public final int quantum;          // 0 si la política no usa quantum
+        public final String workload;
+        public final long cycles;
+        public final long completed;
+        public final long total;
+        public final double avgWait;
+        public final double avgResp;
+        public final double avgTurn;
+        public final double util;
+        public final double throughput;
+        public final double fairness;
+        public final long elapsedNanos;
+
+        Result(PlanPolicy policy, int quantum, String workload, Stats stats, long elapsedNanos) {
+            this.policy = policy;
+            this.quantum = quantum;
+            this.workload = workload;
+            this.cycles = stats.currentCycle;
+            this.completed = stats.completedProcesses;
+            this.total = stats.totalProcesses;
+            this.avgWait = stats.avgWait;
+            this.avgResp = stats.avgResp;
+            this.avgTurn = stats.avgTurn;
+            this.util = stats.util;
+            this.throughput = stats.throughput;
+            this.fairness = stats.fairness;
+            this.elapsedNanos = elapsedNanos;
+        }
+    }
+
+    private final LinkedList<PlanPolicy> policies = new LinkedList<>();
+    private final LinkedList<Integer> quanta = new LinkedList<>();
+    private final LinkedList<Workload> workloads = new LinkedList<>();
+    private int cyclesAmount = 1000;
+    private int cores = 1;
+
+    public void addPolicy(PlanPolicy policy) { policies.addLast(policy); }
+    public void addQuantum(int quantum) { quanta.addLast(quantum); }
+    public void addWorkload(Workload workload) { workloads.addLast(workload); }
+    public void setCyclesAmount(int cycles) { this.cyclesAmount = cycles; }
+    public void setCores(int cores) { this.cores = cores; }
+
+    private static boolean usesQuantum(PlanPolicy policy) {
+        return policy == PlanPolicy.RR || policy == PlanPolicy.MFQ;
+    }
+
+    /**
+     * Corre todos los puntos del barrido.
+     * @param parallelism Cantidad de hilos.
+     * @return Resultados, en el orden carga, política, quantum.
+     */
+    public LinkedList<Result> run(int parallelism) {
+        if (quanta.isEmpty()) quanta.addLast(new Config().getQuantum());
+        LinkedList<PlanPolicy> pols = policies;
+        if (pols.isEmpty()) {
+            pols = new LinkedList<>();
+            for (PlanPolicy p : PlanPolicy.values()) pols.addLast(p);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+        try {
+            LinkedList<ForkJoinTask<Result>> tasks = new LinkedList<>();
+            for (Workload w : workloads) {
+                for (PlanPolicy p : pols) {
+                    if (!usesQuantum(p)) {
+                        tasks.addLast(pool.submit(() -> runPoint(p, 0, w)));
+                        continue;
+                    }
+                    for (int q : quanta) {
+                        tasks.addLast(pool.submit(() -> runPoint(p, q, w)));
+                    }
+                }
+            }
+            LinkedList<Result> results = new LinkedList<>();
+            for (ForkJoinTask<Result> t : tasks) results.addLast(t.join());
+            return results;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Corre un punto del barrido con su propio simulador.
+     */
+    private Result runPoint(PlanPolicy policy, int quantum, Workload workload) {
+        Config config = new Config(cyclesAmount, 1L, policy, usesQuantum(policy) ? quantum : 1);
+        config.setPaced(false);
+        config.setCores(cores);
+        config.setEventLogFile(null);   // varios puntos a la vez no pueden compartir events.log
+        config.setOutput(Output.console(Output.Level.WARN));
+        Stats stats = new Stats();
+        Simulator sim = new Simulator(stats, config);
+        workload.createIn(sim);
+
+        long start = System.nanoTime();
+        sim.startSimulation();
+        long elapsed = System.nanoTime() - start;
+        sim.printReport();
+        return new Result(policy, quantum, workload.name(), stats, elapsed);
+    }
+
+    /**
+     * Imprime la tabla comparativa.
+     * @param results Resultados del barrido.
+     * @param out Salida.
+     */
+    public static void printTable(LinkedList<Result> results, PrintStream out) {
+        out.printf("%-20s %-6s %7s %10s %11s %10s %10s %10s %8s %10s %7s %9s%n",
+                "Carga", "Pol.", "Quantum", "Ciclos", "Completados", "Espera", "Respuesta", "Retorno", "Util.%", "Through.", "Jain", "Tiempo s");
+        for (Result r : results) {
+            out.printf("%-20s %-6s %7s %10d %5d/%-5d %10.2f %10.2f %10.2f %8.1f %10.4f %7.3f %9.3f%n",
+                    r.workload, r.policy, r.quantum == 0 ? "-" : Integer.toString(r.quantum),
+                    r.cycles, r.completed, r.total, r.avgWait, r.avgResp, r.avgTurn,
+                    r.util, r.throughput, r.fairness, r.elapsedNanos / 1e9);
+        }
+    }
+
+    public static void main(String[] args) {
+        SweepRunner sweep = new SweepRunner();
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--policies" -> {
+                        for (String p : args[++i].split(",")) sweep.addPolicy(PlanPolicy.valueOf(p.trim().toUpperCase()));
+                    }
+                    case "--quanta" -> {
+                        for (String q : args[++i].split(",")) sweep.addQuantum(Math.max(1, Integer.parseInt(q.trim())));
+                    }
+                    case "--cycles" -> sweep.setCyclesAmount(Integer.parseInt(args[++i]));
+                    case "--cores" -> sweep.setCores(Integer.parseInt(args[++i]));
+                    case "--threads" -> threads = Integer.parseInt(args[++i]);
+                    case "--workload" -> sweep.addWorkload(Workload.load(Paths.get(args[++i])));
+                    default -> throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+                }
+            }
+            if (sweep.workloads.isEmpty()) throw new IllegalArgumentException("falta --workload");
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Argumentos inválidos: " + e.getMessage());
+            System.err.println("Uso: SweepRunner --workload archivo... [--policies P,...] [--quanta Q,...] [--cycles N] [--cores N] [--threads N]");
+            System.exit(1);
+            return;
+        }
+
+        printTable(sweep.run(threads), System.out);
+    }
+}
@@ -0,0 +1,55 @@
+package sistemas.operativos.proyecto1;
+
+import sistemas.operativos.proyecto1.lib.LinkedList;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Conjunto de procesos con nombre, para correr la misma carga en varias
+ * simulaciones.
+ * @author Sebastián
+ */
+public final class Workload {
+    private final String name;
+    private final LinkedList<ProcessSpec> processes;
+
+    public Workload(String name, LinkedList<ProcessSpec> processes) {
+        this.name = name;
+        this.processes = processes;
+    }
+
+    public String name() { return name; }
+    public LinkedList<ProcessSpec> processes() { return processes; }
+
+    /**
+     * Crea todos los procesos de la carga en un simulador, en una sola tanda.
+     * @param sim Simulador.
+     */
+    public void createIn(Simulator sim) {
+        ProcessSpec[] batch = new ProcessSpec[processes.size()];
+        int i = 0;
+        for (ProcessSpec spec : processes) batch[i++] = spec;
+        sim.createProcesses(batch);
+    }
+
+    /**
+     * Lee una carga de un archivo en CSV o JSON por líneas (ver
+     * {@link WorkloadReader}). El nombre de la carga es el del archivo.
+     * @param file Archivo.
+     * @return Carga leída.
+     * @throws IOException Si no se puede leer el archivo.
+     * @throws IllegalArgumentException Si una línea no es válida.
+     */
+    public static Workload load(Path file) throws IOException {
+        LinkedList<ProcessSpec> processes = new LinkedList<>();
+        try (WorkloadReader in = new WorkloadReader(file)) {
+            in.setRequireOrder(false);
+            for (ProcessSpec spec = in.next(); spec != null; spec = in.next()) {
+                processes.addLast(spec);
+            }
+        } catch (java.io.UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return new Workload(file.getFileName().toString(), processes);
+    }
+}
@@ -0,0 +1,64 @@
+package sistemas.operativos.proyecto1;
+
+import sistemas.operativos.proyecto1.process.ProcessType;
+import java.util.SplittableRandom;
+
+/**
+ * Generador determinista de cargas sintéticas. Con la misma semilla y los
+ * mismos parámetros produce siempre los mismos procesos. Los genera uno a
+ * uno a medida que el CPU los pide (ver {@link ProcessSource}), así que
+ * sirve para cargas de millones de procesos sin tenerlos todos en memoria.
+ *
+ * Las llegadas se obtienen sumando los tiempos entre llegadas, por lo que
+ * salen en orden.
+ * @author Sebastián
+ */
+public class WorkloadGenerator implements ProcessSource {
+    private final SplittableRandom random;
+    private final long count;
+    private long generated = 0;
+    private long arrival = 0;
+
+    private Distribution arrivalGap = Distribution.exponential(10);
+    private Distribution instructions = Distribution.uniform(10, 200);
+    private Distribution cyclesForException = Distribution.uniform(1, 20);
+    private Distribution cyclesToSatisfy = Distribution.uniform(1, 50);
+    private Distribution priority = Distribution.uniform(1, 5);
+    private double ioBoundRatio = 0.5;
+
+    /**
+     * Constructor.
+     * @param seed Semilla.
+     * @param count Cantidad de procesos a generar.
+     */
+    public WorkloadGenerator(long seed, long count) {
+        this.random = new SplittableRandom(seed);
+        this.count = count;
+    }
+
+    public void setArrivalGap(Distribution d) { this.arrivalGap = d; }
+    public void setInstructions(Distribution d) { this.instructions = d; }
+    public void setCyclesForException(Distribution d) { this.cyclesForException = d; }
+    public void setCyclesToSatisfy(Distribution d) { this.cyclesToSatisfy = d; }
+    public void setPriority(Distribution d) { this.priority = d; }
+    /** Fracción (entre 0 y 1) de procesos IO_BOUND. */
+    public void setIoBoundRatio(double ratio) { this.ioBoundRatio = ratio; }
+
+    public long generated() { return generated; }
+
+    @Override
+    public ProcessSpec next() {
+        if (generated >= count) return null;
+        arrival = Math.min(Integer.MAX_VALUE, arrival + Math.max(0, arrivalGap.sample(random)));
+        ProcessType type = (random.nextDouble() < ioBoundRatio) ? ProcessType.IO_BOUND : ProcessType.CPU_BOUND;
+        ProcessSpec spec = new ProcessSpec("G" + generated,
+                (int) arrival,
+                Math.max(1, instructions.sample(random)),
+                type,
+                Math.max(1, cyclesForException.sample(random)),
+                Math.max(1, cyclesToSatisfy.sample(random)),
+                Math.max(1, priority.sample(random)));
+        generated++;
+        return spec;
+    }
+}
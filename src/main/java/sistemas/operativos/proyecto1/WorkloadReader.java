@@ -0,0 +1,207 @@
+package sistemas.operativos.proyecto1;
+
+import sistemas.operativos.proyecto1.lib.FlatJson;
+import sistemas.operativos.proyecto1.process.ProcessType;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * Lectura incremental de un archivo de carga, con un proceso por línea, ya
+ * sea en CSV ("nombre,llegada,instrucciones,tipo,ciclosExc,ciclosSat,prioridad")
+ * o como un objeto JSON por línea con las claves de {@link ProcessSpec}
+ * ("name", "arrivalTime", "instructions", "type", "cyclesForException",
+ * "cyclesToSatisfy" y "priority"). Se ignoran las líneas vacías, las que
+ * empiezan con '#' y una cabecera CSV al inicio.
+ *
+ * Se lee de a una línea, así que el archivo nunca está entero en memoria: como
+ * {@link ProcessSource} (con llegadas no decrecientes) el CPU crea cada
+ * proceso recién cuando llega, y con {@link #importInto(Simulator, int)} se
+ * crean todos de antemano, por tandas.
+ *
+ * Las líneas inválidas se informan con una IllegalArgumentException que
+ * indica archivo y número de línea.
+ * @author Sebastián
+ */
+public final class WorkloadReader implements ProcessSource, AutoCloseable {
+    private static final int BUFFER_CHARS = 1 << 16;
+
+    private final Path file;
+    private final BufferedReader in;
+    private int lineNo = 0;
+    private long count = 0;
+    private int lastArrival = Integer.MIN_VALUE;
+    private boolean ordered = true;   // como fuente, exige llegadas no decrecientes
+
+    /**
+     * Constructor.
+     * @param file Archivo de carga.
+     * @throws IOException Si no se puede abrir.
+     */
+    public WorkloadReader(Path file) throws IOException {
+        this.file = file;
+        this.in = new BufferedReader(Channels.newReader(FileChannel.open(file, StandardOpenOption.READ),
+                StandardCharsets.UTF_8.newDecoder(), -1), BUFFER_CHARS);
+    }
+
+    /** Procesos leídos hasta ahora. */
+    public long count() { return count; }
+
+    /**
+     * Si es true (por defecto) una llegada menor que la anterior es un error,
+     * como lo pide {@link ProcessSource}.
+     */
+    public void setRequireOrder(boolean ordered) { this.ordered = ordered; }
+
+    /** Número de la última línea leída. */
+    public int lineNumber() { return lineNo; }
+
+    /**
+     * Siguiente proceso del archivo.
+     * @return Proceso, o null al final del archivo.
+     * @throws IllegalArgumentException Si la línea no es válida o, al usarse
+     * como fuente, si la llegada es menor que la del proceso anterior.
+     * @throws UncheckedIOException Si falla la lectura.
+     */
+    @Override
+    public ProcessSpec next() {
+        try {
+            return read();
+        } catch (IOException e) {
+            throw new UncheckedIOException(file + ":" + lineNo + ": " + e.getMessage(), e);
+        }
+    }
+
+    private ProcessSpec read() throws IOException {
+        for (String line = in.readLine(); line != null; line = in.readLine()) {
+            lineNo++;
+            line = line.strip();
+            if (line.isEmpty() || line.charAt(0) == '#') continue;
+            if (count == 0 && isHeader(line)) continue;
+            ProcessSpec spec;
+            try {
+                spec = (line.charAt(0) == '{') ? parseJson(line) : parseCsv(line);
+            } catch (IOException | RuntimeException e) {
+                throw new IllegalArgumentException(file + ":" + lineNo + ": " + e.getMessage(), e);
+            }
+            if (ordered && spec.arrivalTime < lastArrival) {
+                throw new IllegalArgumentException(file + ":" + lineNo + ": la llegada " + spec.arrivalTime
+                        + " es menor que la anterior (" + lastArrival + ")");
+            }
+            lastArrival = spec.arrivalTime;
+            count++;
+            return spec;
+        }
+        return null;
+    }
+
+    private static boolean isHeader(String line) {
+        return line.regionMatches(true, 0, "nombre,", 0, 7) || line.regionMatches(true, 0, "name,", 0, 5);
+    }
+
+    /**
+     * Una línea CSV, sin crear los campos intermedios.
+     */
+    private static ProcessSpec parseCsv(String line) {
+        int[] cut = new int[8];
+        int fields = 1;
+        cut[0] = -1;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == ',') {
+                if (fields == 7) throw new IllegalArgumentException("se esperan 7 campos");
+                cut[fields++] = i;
+            }
+        }
+        if (fields != 7) throw new IllegalArgumentException("se esperan 7 campos");
+        cut[7] = line.length();
+        String name = line.substring(cut[0] + 1, cut[1]).strip();
+        if (name.isEmpty()) throw new IllegalArgumentException("falta el nombre");
+        return new ProcessSpec(name,
+                parseInt(line, cut[1] + 1, cut[2], "llegada"),
+                parseInt(line, cut[2] + 1, cut[3], "instrucciones"),
+                parseType(line.substring(cut[3] + 1, cut[4])),
+                parseInt(line, cut[4] + 1, cut[5], "ciclosExc"),
+                parseInt(line, cut[5] + 1, cut[6], "ciclosSat"),
+                parseInt(line, cut[6] + 1, cut[7], "prioridad"));
+    }
+
+    private static int parseInt(String s, int from, int to, String field) {
+        while (from < to && Character.isWhitespace(s.charAt(from))) from++;
+        while (to > from && Character.isWhitespace(s.charAt(to - 1))) to--;
+        boolean negative = from < to && s.charAt(from) == '-';
+        int i = negative ? from + 1 : from;
+        if (i == to) throw new IllegalArgumentException(field + " vacío");
+        long v = 0;
+        for (; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') throw new IllegalArgumentException(field + " no es un entero: " + s.substring(from, to));
+            v = v * 10 + (c - '0');
+            if (v > Integer.MAX_VALUE) throw new IllegalArgumentException(field + " fuera de rango: " + s.substring(from, to));
+        }
+        return (int) (negative ? -v : v);
+    }
+
+    private static ProcessType parseType(String s) {
+        s = s.strip();
+        if (s.equalsIgnoreCase("CPU_BOUND")) return ProcessType.CPU_BOUND;
+        if (s.equalsIgnoreCase("IO_BOUND")) return ProcessType.IO_BOUND;
+        throw new IllegalArgumentException("tipo inválido: " + s);
+    }
+
+    private static ProcessSpec parseJson(String line) throws IOException {
+        Map<String, Object> o = FlatJson.parse(line);
+        Object name = o.get("name");
+        if (!(name instanceof String s) || s.isEmpty()) throw new IllegalArgumentException("falta \"name\"");
+        Object type = o.get("type");
+        if (!(type instanceof String t)) throw new IllegalArgumentException("falta \"type\"");
+        return new ProcessSpec((String) name,
+                jsonInt(o, "arrivalTime"),
+                jsonInt(o, "instructions"),
+                parseType((String) type),
+                jsonInt(o, "cyclesForException"),
+                jsonInt(o, "cyclesToSatisfy"),
+                jsonInt(o, "priority"));
+    }
+
+    private static int jsonInt(Map<String, Object> o, String key) {
+        Object v = o.get(key);
+        if (!(v instanceof Long l)) throw new IllegalArgumentException("\"" + key + "\" debe ser un entero");
+        return Math.toIntExact(l);
+    }
+
+    /**
+     * Crea todos los procesos del archivo en un simulador, por tandas, sin
+     * exigir que las llegadas estén ordenadas.
+     * @param sim Simulador.
+     * @param batchSize Procesos por tanda.
+     * @return Procesos creados.
+     * @throws IllegalArgumentException Si una línea no es válida (los
+     * procesos de las tandas anteriores ya quedaron creados).
+     */
+    public long importInto(Simulator sim, int batchSize) {
+        setRequireOrder(false);
+        ProcessSpec[] batch = new ProcessSpec[Math.max(1, batchSize)];
+        long created = 0;
+        while (true) {
+            int n = 0;
+            for (ProcessSpec spec = next(); spec != null; spec = (n < batch.length) ? next() : null) {
+                batch[n++] = spec;
+            }
+            if (n == 0) return created;
+            sim.createProcesses(batch, n);
+            java.util.Arrays.fill(batch, 0, n, null);
+            created += n;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -1,5 +1,7 @@
 package sistemas.operativos.proyecto1.gui;
 
+import sistemas.operativos.proyecto1.Config;
+import sistemas.operativos.proyecto1.ConfigFile;
 import sistemas.operativos.proyecto1.Simulator;
 import sistemas.operativos.proyecto1.Stats;
 
@@ -259,6 +261,13 @@ public class ConfigView extends javax.swing.JFrame {
             this.sim.setCyclesQuantum(quantumParsed);
         } catch (NumberFormatException e) {
         }
+        
+        Config config = this.sim.getConfig();
+        try {
+            ConfigFile.save(config, java.nio.file.Paths.get(config.getConfigFile()));
+        } catch (java.io.IOException e) {
+            System.err.println("No se pudo guardar " + config.getConfigFile() + ": " + e.getMessage());
+        }
     }
     
     public void loadConfig() {
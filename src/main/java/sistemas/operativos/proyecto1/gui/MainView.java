@@ -902,7 +902,6 @@ public class MainView extends javax.swing.JFrame {
         this.pauseButton.setEnabled(true);
         this.configButton.setEnabled(false);
         this.createButton.setEnabled(false);
-        this.planPolicySelector.setEnabled(false);
     }//GEN-LAST:event_startButtonActionPerformed
 
     private void startButtonMousePressed(java.awt.event.MouseEvent evt) {//GEN-FIRST:event_startButtonMousePressed
@@ -1013,7 +1012,7 @@ public class MainView extends javax.swing.JFrame {
                     String[] newIoList = this.stats.getIoQueueList();
                     String[] newfinishedList = this.stats.getFinishedQueueList();
                     
-                    String newId = this.stats.isCurrentProcessAvailable() ? this.stats.currentProcess.id() : "Ninguno";
+                    String newId = this.stats.isCurrentProcessAvailable() ? String.valueOf(this.stats.currentProcess.pid()) : "Ninguno";
                     String newName = this.stats.isCurrentProcessAvailable() ? this.stats.currentProcess.name() : "Ninguno";
                     String newInstructions = this.stats.isCurrentProcessAvailable() ? String.valueOf(this.stats.currentProcess.remaining()) + " de " + String.valueOf(this.stats.currentProcess.instructions()) : "0 de 0";
                     String newPriority = this.stats.isCurrentProcessAvailable() ? String.valueOf(this.stats.currentProcess.priority()) : "0";
@@ -0,0 +1,84 @@
+package sistemas.operativos.proyecto1.lib;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Lectura binaria con búfer sobre un canal; contraparte de
+ * {@link BinaryWriter}.
+ * @author Sebastián
+ */
+public class BinaryReader implements AutoCloseable {
+    private static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private final ReadableByteChannel channel;
+    private ByteBuffer buffer;
+
+    public BinaryReader(ReadableByteChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(DEFAULT_CAPACITY);
+        this.buffer.flip();   // vacío, listo para leer
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) return;
+        if (buffer.capacity() < bytes) {
+            ByteBuffer bigger = ByteBuffer.allocate(bytes);
+            bigger.put(buffer);
+            buffer = bigger;
+        } else {
+            buffer.compact();
+        }
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) < 0) throw new EOFException();
+        }
+        buffer.flip();
+    }
+
+    public byte readByte() throws IOException {
+        ensure(1);
+        return buffer.get();
+    }
+
+    public boolean readBoolean() throws IOException { return readByte() != 0; }
+
+    public short readShort() throws IOException {
+        ensure(2);
+        return buffer.getShort();
+    }
+
+    public int readInt() throws IOException {
+        ensure(4);
+        return buffer.getInt();
+    }
+
+    public long readLong() throws IOException {
+        ensure(8);
+        return buffer.getLong();
+    }
+
+    public double readDouble() throws IOException {
+        ensure(8);
+        return buffer.getDouble();
+    }
+
+    /**
+     * Lee una cadena escrita con {@link BinaryWriter#writeString(String)}.
+     */
+    public String readString() throws IOException {
+        int length = readInt();
+        if (length < 0) throw new IOException("Largo de cadena inválido: " + length);
+        ensure(length);
+        String s = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return s;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
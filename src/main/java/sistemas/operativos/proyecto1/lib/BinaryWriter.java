@@ -0,0 +1,83 @@
+package sistemas.operativos.proyecto1.lib;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Escritura binaria con búfer sobre un canal. Escribe enteros big-endian
+ * directamente en un ByteBuffer, sin las llamadas sincronizadas por byte de
+ * DataOutputStream sobre BufferedOutputStream.
+ * @author Sebastián
+ */
+public class BinaryWriter implements AutoCloseable {
+    private static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private final WritableByteChannel channel;
+    private ByteBuffer buffer;
+
+    public BinaryWriter(WritableByteChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(DEFAULT_CAPACITY);
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) return;
+        flush();
+        if (buffer.capacity() < bytes) buffer = ByteBuffer.allocate(bytes);
+    }
+
+    public void writeByte(int v) throws IOException {
+        ensure(1);
+        buffer.put((byte) v);
+    }
+
+    public void writeBoolean(boolean v) throws IOException { writeByte(v ? 1 : 0); }
+
+    public void writeShort(int v) throws IOException {
+        ensure(2);
+        buffer.putShort((short) v);
+    }
+
+    public void writeInt(int v) throws IOException {
+        ensure(4);
+        buffer.putInt(v);
+    }
+
+    public void writeLong(long v) throws IOException {
+        ensure(8);
+        buffer.putLong(v);
+    }
+
+    public void writeDouble(double v) throws IOException {
+        ensure(8);
+        buffer.putDouble(v);
+    }
+
+    /**
+     * Escribe una cadena como su largo en bytes (int) seguido de sus bytes en
+     * UTF-8.
+     */
+    public void writeString(String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        ensure(4 + bytes.length);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
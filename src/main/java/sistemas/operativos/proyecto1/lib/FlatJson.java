@@ -0,0 +1,142 @@
+package sistemas.operativos.proyecto1.lib;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Analizador de objetos JSON "planos": claves con textos, números, booleanos
+ * o null (sin objetos ni arreglos anidados). Los enteros se leen como Long y
+ * los demás números como Double.
+ * @author Sebastián
+ */
+public final class FlatJson {
+    private FlatJson() { }
+
+    /**
+     * Lee un objeto.
+     * @param text Texto con un único objeto.
+     * @return Claves y valores, en el orden del texto.
+     * @throws IOException Si el texto no es un objeto plano válido.
+     */
+    public static Map<String, Object> parse(String text) throws IOException {
+        Parser p = new Parser(text);
+        p.skipSpace();
+        Map<String, Object> res = p.object();
+        p.skipSpace();
+        if (p.pos != text.length()) throw p.error("contenido después del objeto");
+        return res;
+    }
+
+    private static final class Parser {
+        private final String s;
+        private int pos = 0;
+
+        Parser(String s) { this.s = s; }
+
+        Map<String, Object> object() throws IOException {
+            Map<String, Object> res = new LinkedHashMap<>();
+            expect('{');
+            skipSpace();
+            if (peek() == '}') {
+                pos++;
+                return res;
+            }
+            while (true) {
+                skipSpace();
+                String key = string();
+                skipSpace();
+                expect(':');
+                skipSpace();
+                res.put(key, value());
+                skipSpace();
+                char c = next();
+                if (c == '}') return res;
+                if (c != ',') throw error("se esperaba ',' o '}'");
+            }
+        }
+
+        private Object value() throws IOException {
+            char c = peek();
+            if (c == '"') return string();
+            if (c == '-' || (c >= '0' && c <= '9')) return number();
+            if (s.startsWith("true", pos)) { pos += 4; return Boolean.TRUE; }
+            if (s.startsWith("false", pos)) { pos += 5; return Boolean.FALSE; }
+            if (s.startsWith("null", pos)) { pos += 4; return null; }
+            throw error("valor no soportado");
+        }
+
+        private Object number() throws IOException {
+            int start = pos;
+            if (peek() == '-') pos++;
+            boolean integral = true;
+            while (pos < s.length()) {
+                char c = s.charAt(pos);
+                if (c >= '0' && c <= '9') pos++;
+                else if (c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-') { integral = false; pos++; }
+                else break;
+            }
+            String num = s.substring(start, pos);
+            try {
+                return integral ? (Object) Long.parseLong(num) : (Object) Double.parseDouble(num);
+            } catch (NumberFormatException e) {
+                throw error("número inválido " + num);
+            }
+        }
+
+        private String string() throws IOException {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                char c = next();
+                if (c == '"') return sb.toString();
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                char e = next();
+                switch (e) {
+                    case '"', '\\', '/' -> sb.append(e);
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'n' -> sb.append('\n');
+                    case 'r' -> sb.append('\r');
+                    case 't' -> sb.append('\t');
+                    case 'u' -> {
+                        if (pos + 4 > s.length()) throw error("escape incompleto");
+                        try {
+                            sb.append((char) Integer.parseInt(s.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException ex) {
+                            throw error("escape inválido");
+                        }
+                        pos += 4;
+                    }
+                    default -> throw error("escape inválido");
+                }
+            }
+        }
+
+        void skipSpace() {
+            while (pos < s.length() && Character.isWhitespace(s.charAt(pos))) pos++;
+        }
+
+        private char peek() throws IOException {
+            if (pos >= s.length()) throw error("fin inesperado");
+            return s.charAt(pos);
+        }
+
+        private char next() throws IOException {
+            char c = peek();
+            pos++;
+            return c;
+        }
+
+        private void expect(char c) throws IOException {
+            if (next() != c) throw error("se esperaba '" + c + "'");
+        }
+
+        IOException error(String msg) {
+            return new IOException("JSON inválido en la posición " + pos + ": " + msg);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package sistemas.operativos.proyecto1.lib;
+
+/**
+ * Elemento que guarda su propia posición dentro de un {@link PriorityQueue}.
+ * Permite que {@code update} y {@code remove} lo encuentren en O(1) en lugar
+ * de recorrer el arreglo del montículo.
+ * @author Sebastián
+ */
+public interface HeapIndexed {
+    /** Sin posición: el elemento no está en ningún montículo. */
+    int NO_INDEX = -1;
+
+    int heapIndex();
+
+    void setHeapIndex(int index);
+}
@@ -0,0 +1,41 @@
+package sistemas.operativos.proyecto1.lib;
+
+/**
+ * Enlaces de elementos identificados por un entero no negativo (por ejemplo,
+ * un pid). Las estructuras intrusivas ({@link IntrusiveList},
+ * {@link IntHeap}, {@link TimingWheel}) no guardan nodos propios: leen y
+ * escriben los enlaces de cada elemento aquí, así que enlazar un elemento no
+ * crea objetos y la memoria de los enlaces la decide quien los guarda (por
+ * ejemplo, columnas de enteros).
+ *
+ * Un elemento está en una sola estructura a la vez; su dueño es una
+ * etiqueta entera que entrega {@link #newOwner(Object, int)}.
+ * @author Sebastián
+ */
+public interface IdLinks {
+    /** Sin elemento, o sin dueño: el elemento no está en ninguna estructura. */
+    int NONE = -1;
+
+    int next(int id);
+    void setNext(int id, int next);
+
+    int prev(int id);
+    void setPrev(int id, int prev);
+
+    /** Etiqueta de la estructura que contiene al elemento, o {@link #NONE}. */
+    int owner(int id);
+    void setOwner(int id, int owner);
+
+    /** Posición del elemento dentro de un montículo ({@link IntHeap}). */
+    int index(int id);
+    void setIndex(int id, int index);
+
+    /**
+     * Reserva etiquetas de dueño consecutivas para una estructura.
+     * @param structure Estructura a la que corresponden (la que se informa
+     * al preguntar en qué estructura está un elemento).
+     * @param count Cantidad de etiquetas.
+     * @return La primera etiqueta.
+     */
+    int newOwner(Object structure, int count);
+}
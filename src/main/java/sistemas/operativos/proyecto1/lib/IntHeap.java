@@ -0,0 +1,181 @@
+package sistemas.operativos.proyecto1.lib;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Montículo binario de elementos identificados por un entero; sale primero
+ * el de menor clave y, entre claves iguales, el que llegó primero (como
+ * {@link PriorityQueue}). La clave se lee una vez, al agregar el elemento, y
+ * no debe cambiar mientras esté en el montículo.
+ *
+ * La posición de cada elemento se guarda en su {@link IdLinks#index(int)},
+ * así que {@link #remove(int)} y {@link #contains(int)} son O(log n) y O(1)
+ * sin recorrer el arreglo.
+ * @author Sebastián
+ */
+public final class IntHeap {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final IdLinks links;
+    private final int tag;
+    private final IntToLongFunction keyOf;
+    private int[] heap = new int[DEFAULT_CAPACITY];
+    private long[] keys = new long[DEFAULT_CAPACITY];
+    private long[] seq = new long[DEFAULT_CAPACITY];   // orden de llegada, para desempatar
+    private long nextSeq = 0;
+    private int size = 0;
+
+    /**
+     * Constructor de un montículo que es su propia estructura.
+     * @param links Enlaces de los elementos.
+     * @param keyOf Clave de cada elemento (menor sale primero).
+     */
+    public IntHeap(IdLinks links, IntToLongFunction keyOf) {
+        this(links, keyOf, null);
+    }
+
+    /**
+     * Constructor.
+     * @param links Enlaces de los elementos.
+     * @param keyOf Clave de cada elemento (menor sale primero).
+     * @param owner Estructura que usa el montículo (la que se informa al
+     * preguntar en qué estructura está un elemento), o null si es el propio
+     * montículo.
+     */
+    public IntHeap(IdLinks links, IntToLongFunction keyOf, Object owner) {
+        this.links = links;
+        this.keyOf = keyOf;
+        this.tag = links.newOwner((owner != null) ? owner : this, 1);
+    }
+
+    public void add(int id) {
+        if (links.owner(id) != IdLinks.NONE) throw new IllegalStateException("Element already in a structure: " + id);
+        if (size == heap.length) grow();
+        links.setOwner(id, tag);
+        heap[size] = id;
+        keys[size] = keyOf.applyAsLong(id);
+        seq[size] = nextSeq++;
+        links.setIndex(id, size);
+        size++;
+        siftUp(size - 1);
+    }
+
+    /**
+     * Elemento que sale primero, sin sacarlo.
+     * @return El elemento, o {@link IdLinks#NONE} si está vacío.
+     */
+    public int peek() { return (size == 0) ? IdLinks.NONE : heap[0]; }
+
+    /** Clave del elemento que sale primero. */
+    public long peekKey() {
+        if (size == 0) throw new NoSuchElementException("IntHeap is empty");
+        return keys[0];
+    }
+
+    /**
+     * Saca el elemento de menor clave.
+     * @return El elemento, o {@link IdLinks#NONE} si está vacío.
+     */
+    public int poll() { return (size == 0) ? IdLinks.NONE : removeAt(0); }
+
+    /**
+     * Elimina un elemento arbitrario.
+     * @return false si el elemento no está en el montículo.
+     */
+    public boolean remove(int id) {
+        if (!contains(id)) return false;
+        removeAt(links.index(id));
+        return true;
+    }
+
+    public boolean contains(int id) { return links.owner(id) == tag; }
+
+    public boolean isEmpty() { return size == 0; }
+    public int size() { return size; }
+
+    /**
+     * Acceso por posición dentro del arreglo (no en orden de salida).
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return heap[index];
+    }
+
+    private int removeAt(int i) {
+        int removed = heap[i];
+        int last = --size;
+        if (i != last) {
+            move(last, i);
+            if (!siftUp(i)) siftDown(i);
+        }
+        links.setOwner(removed, IdLinks.NONE);
+        links.setIndex(removed, IdLinks.NONE);
+        return removed;
+    }
+
+    private boolean siftUp(int i) {
+        int start = i;
+        int x = heap[i];
+        long xk = keys[i];
+        long xs = seq[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(xk, xs, keys[parent], seq[parent])) break;
+            move(parent, i);
+            i = parent;
+        }
+        put(i, x, xk, xs);
+        return i != start;
+    }
+
+    private void siftDown(int i) {
+        int x = heap[i];
+        long xk = keys[i];
+        long xs = seq[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && before(keys[right], seq[right], keys[child], seq[child])) child = right;
+            if (!before(keys[child], seq[child], xk, xs)) break;
+            move(child, i);
+            i = child;
+        }
+        put(i, x, xk, xs);
+    }
+
+    /** true si (ak, as) debe salir antes que (bk, bs). */
+    private static boolean before(long ak, long as, long bk, long bs) {
+        return ak < bk || (ak == bk && as < bs);
+    }
+
+    private void move(int from, int to) {
+        put(to, heap[from], keys[from], seq[from]);
+    }
+
+    private void put(int i, int id, long key, long s) {
+        heap[i] = id;
+        keys[i] = key;
+        seq[i] = s;
+        links.setIndex(id, i);
+    }
+
+    private void grow() {
+        int newCap = heap.length + (heap.length >> 1) + 1;
+        heap = Arrays.copyOf(heap, newCap);
+        keys = Arrays.copyOf(keys, newCap);
+        seq = Arrays.copyOf(seq, newCap);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("IntHeap[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(heap[i]);
+        }
+        return sb.append(']').toString();
+    }
+}
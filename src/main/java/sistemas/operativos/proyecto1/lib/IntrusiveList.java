@@ -0,0 +1,159 @@
+package sistemas.operativos.proyecto1.lib;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Lista doblemente enlazada "intrusiva" de elementos identificados por un
+ * entero: los enlaces de cada elemento se guardan en un {@link IdLinks} y no
+ * en nodos de la lista, así que insertar no crea objetos y eliminar un
+ * elemento conocido es O(1), sin recorrer la lista. Un elemento puede estar
+ * en una sola lista a la vez y su etiqueta de dueño dice en cuál está.
+ * @author Sebastián
+ */
+public final class IntrusiveList {
+    private final IdLinks links;
+    private final int tag;
+    private int head = IdLinks.NONE;
+    private int tail = IdLinks.NONE;
+    private int size;
+
+    /**
+     * Constructor de una lista suelta, que es su propia estructura.
+     * @param links Enlaces de los elementos.
+     */
+    public IntrusiveList(IdLinks links) {
+        this.links = links;
+        this.tag = links.newOwner(this, 1);
+    }
+
+    /**
+     * Constructor.
+     * @param links Enlaces de los elementos.
+     * @param tag Etiqueta de dueño, reservada por la estructura a la que
+     * pertenece la lista (por ejemplo, las ranuras de una
+     * {@link TimingWheel}).
+     */
+    public IntrusiveList(IdLinks links, int tag) {
+        this.links = links;
+        this.tag = tag;
+    }
+
+    public int tag() { return tag; }
+
+    public int size() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    public void addLast(int id) {
+        claim(id);
+        links.setNext(id, IdLinks.NONE);
+        links.setPrev(id, tail);
+        if (tail == IdLinks.NONE) head = id;
+        else links.setNext(tail, id);
+        tail = id;
+        size++;
+    }
+
+    public void addFirst(int id) {
+        claim(id);
+        links.setPrev(id, IdLinks.NONE);
+        links.setNext(id, head);
+        if (head == IdLinks.NONE) tail = id;
+        else links.setPrev(head, id);
+        head = id;
+        size++;
+    }
+
+    /**
+     * Saca el primer elemento.
+     * @return El elemento, o {@link IdLinks#NONE} si la lista está vacía.
+     */
+    public int removeFirst() {
+        int id = head;
+        if (id != IdLinks.NONE) unlink(id);
+        return id;
+    }
+
+    /**
+     * Inserta un elemento justo después de otro que ya está en la lista.
+     * @param pos Elemento de referencia; si es {@link IdLinks#NONE} se
+     * inserta al inicio.
+     * @param id Elemento a insertar.
+     */
+    public void addAfter(int pos, int id) {
+        if (pos == IdLinks.NONE) {
+            addFirst(id);
+            return;
+        }
+        if (links.owner(pos) != tag) throw new IllegalArgumentException("Position not in this list");
+        if (pos == tail) {
+            addLast(id);
+            return;
+        }
+        claim(id);
+        int n = links.next(pos);
+        links.setPrev(id, pos);
+        links.setNext(id, n);
+        links.setPrev(n, id);
+        links.setNext(pos, id);
+        size++;
+    }
+
+    /** Primer elemento, o {@link IdLinks#NONE}. */
+    public int first() { return head; }
+
+    /** Último elemento, o {@link IdLinks#NONE}. */
+    public int last() { return tail; }
+
+    /** Elemento siguiente a uno de la lista, o {@link IdLinks#NONE}. */
+    public int next(int id) { return links.next(id); }
+
+    /** Elemento anterior a uno de la lista, o {@link IdLinks#NONE}. */
+    public int prev(int id) { return links.prev(id); }
+
+    /**
+     * Elimina un elemento en O(1).
+     * @return false si el elemento no pertenece a esta lista.
+     */
+    public boolean remove(int id) {
+        if (!contains(id)) return false;
+        unlink(id);
+        return true;
+    }
+
+    public boolean contains(int id) { return links.owner(id) == tag; }
+
+    /**
+     * Recorre los elementos en orden. La acción no debe modificar la lista.
+     */
+    public void forEach(IntConsumer action) {
+        for (int cur = head; cur != IdLinks.NONE; cur = links.next(cur)) action.accept(cur);
+    }
+
+    private void claim(int id) {
+        if (links.owner(id) != IdLinks.NONE) throw new IllegalStateException("Element already in a list: " + id);
+        links.setOwner(id, tag);
+    }
+
+    private void unlink(int id) {
+        int p = links.prev(id);
+        int n = links.next(id);
+        if (p == IdLinks.NONE) head = n;
+        else links.setNext(p, n);
+        if (n == IdLinks.NONE) tail = p;
+        else links.setPrev(n, p);
+        links.setOwner(id, IdLinks.NONE);
+        size--;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder().append('[');
+        for (int cur = head; cur != IdLinks.NONE; cur = links.next(cur)) {
+            if (cur != head) sb.append(", ");
+            sb.append(cur);
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+}
@@ -1,44 +1,205 @@
 package sistemas.operativos.proyecto1.lib;
 
+import java.util.Comparator;
 import java.util.NoSuchElementException;
 
 /**
- *
+ * Cola de prioridad implementada como montículo binario sobre un arreglo.
+ * Sale primero el elemento "mayor" según el comparador (o según su orden
+ * natural). Entre elementos iguales se respeta el orden de llegada.
  * @author Sebastián
  * @param <T>
  */
 public class PriorityQueue<T extends Comparable<? super T>> {
-    private final LinkedList<T> list = new LinkedList<>();
-    
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final Comparator<? super T> comparator;
+    private Object[] heap;
+    private long[] seq;       // orden de llegada, para desempatar
+    private long nextSeq = 0;
+    private int size = 0;
+
+    public PriorityQueue() {
+        this(null);
+    }
+
+    /**
+     * Constructor.
+     * @param comparator Orden de salida; el mayor sale primero. Si es null se
+     * usa el orden natural de los elementos.
+     */
+    public PriorityQueue(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+        this.heap = new Object[DEFAULT_CAPACITY];
+        this.seq = new long[DEFAULT_CAPACITY];
+    }
+
     public void add(T value) {
         if (value == null) throw new NullPointerException("Null elements not allowed");
-        list.addLast(value);
+        if (size == heap.length) grow();
+        heap[size] = value;
+        seq[size] = nextSeq++;
+        setIndex(value, size);
+        size++;
+        siftUp(size - 1);
     }
 
     public T peek() {
-        if (list.isEmpty()) throw new NoSuchElementException("PriorityQueue is empty");
-        T best = null;
-        for (T v : list) {
-            if (best == null || v.compareTo(best) > 0) best = v;
-        }
-        return best;
+        if (size == 0) throw new NoSuchElementException("PriorityQueue is empty");
+        return elementAt(0);
     }
 
     public T poll() {
-        if (list.isEmpty()) throw new NoSuchElementException("PriorityQueue is empty");
-        T best = null;
-        for (T v : list) {
-            if (best == null || v.compareTo(best) > 0) best = v;
+        if (size == 0) throw new NoSuchElementException("PriorityQueue is empty");
+        return removeAt(0);
+    }
+
+    /**
+     * Reubica un elemento cuya clave cambió (sube o baja según corresponda).
+     * @param value Elemento ya presente en la cola.
+     * @return false si el elemento no está en la cola.
+     */
+    public boolean update(T value) {
+        int i = indexOf(value);
+        if (i < 0) return false;
+        if (!siftUp(i)) siftDown(i);
+        return true;
+    }
+
+    /**
+     * Alias de {@link #update(Comparable)} para el caso en que la clave sólo
+     * mejora.
+     */
+    public boolean decreaseKey(T value) {
+        return update(value);
+    }
+
+    /**
+     * Elimina un elemento arbitrario de la cola.
+     * @return false si el elemento no está en la cola.
+     */
+    public boolean remove(T value) {
+        int i = indexOf(value);
+        if (i < 0) return false;
+        removeAt(i);
+        return true;
+    }
+
+    public boolean contains(T value) { return indexOf(value) >= 0; }
+
+    public boolean isEmpty() { return size == 0; }
+    public int size() { return size; }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            setIndex(elementAt(i), HeapIndexed.NO_INDEX);
+            heap[i] = null;
         }
-        // remove first occurrence of best and return it
-        boolean removed = list.remove(best);
-        if (!removed) throw new IllegalStateException("Element found but couldn't remove");
-        return best;
+        size = 0;
+    }
+
+    /**
+     * Acceso por posición dentro del arreglo (no en orden de salida).
+     */
+    public T get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return elementAt(index);
     }
 
-    public boolean isEmpty() { return list.isEmpty(); }
-    public int size() { return list.size(); }
+    // Montículo
+
+    private T removeAt(int i) {
+        T removed = elementAt(i);
+        int last = --size;
+        if (i != last) {
+            heap[i] = heap[last];
+            seq[i] = seq[last];
+            setIndex(elementAt(i), i);
+            heap[last] = null;
+            if (!siftUp(i)) siftDown(i);
+        } else {
+            heap[last] = null;
+        }
+        setIndex(removed, HeapIndexed.NO_INDEX);
+        return removed;
+    }
+
+    private boolean siftUp(int i) {
+        int start = i;
+        Object x = heap[i];
+        long xs = seq[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(x, xs, heap[parent], seq[parent])) break;
+            heap[i] = heap[parent];
+            seq[i] = seq[parent];
+            setIndex(elementAt(i), i);
+            i = parent;
+        }
+        heap[i] = x;
+        seq[i] = xs;
+        setIndex(elementAt(i), i);
+        return i != start;
+    }
+
+    private void siftDown(int i) {
+        Object x = heap[i];
+        long xs = seq[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && before(heap[right], seq[right], heap[child], seq[child])) child = right;
+            if (!before(heap[child], seq[child], x, xs)) break;
+            heap[i] = heap[child];
+            seq[i] = seq[child];
+            setIndex(elementAt(i), i);
+            i = child;
+        }
+        heap[i] = x;
+        seq[i] = xs;
+        setIndex(elementAt(i), i);
+    }
+
+    /** true si a debe salir antes que b. */
+    @SuppressWarnings("unchecked")
+    private boolean before(Object a, long as, Object b, long bs) {
+        int c = (comparator != null) ? comparator.compare((T) a, (T) b) : ((T) a).compareTo((T) b);
+        return c > 0 || (c == 0 && as < bs);
+    }
+
+    private int indexOf(T value) {
+        if (value == null) return -1;
+        if (value instanceof HeapIndexed h) {
+            int i = h.heapIndex();
+            return (i >= 0 && i < size && heap[i] == value) ? i : -1;
+        }
+        for (int i = 0; i < size; i++) {
+            if (value.equals(heap[i])) return i;
+        }
+        return -1;
+    }
+
+    private static void setIndex(Object value, int index) {
+        if (value instanceof HeapIndexed h) h.setHeapIndex(index);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elementAt(int i) { return (T) heap[i]; }
+
+    private void grow() {
+        int newCap = heap.length + (heap.length >> 1) + 1;
+        heap = java.util.Arrays.copyOf(heap, newCap);
+        seq = java.util.Arrays.copyOf(seq, newCap);
+    }
 
     @Override
-    public String toString() { return "PriorityQueue" + list.toString(); }
+    public String toString() {
+        StringBuilder sb = new StringBuilder("PriorityQueue[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(heap[i]);
+        }
+        return sb.append(']').toString();
+    }
 }
@@ -8,7 +8,7 @@ import sistemas.operativos.proyecto1.process.Process;
  * @param <T>
  */
 public class Queue<T> implements Iterable<T> {
-    private final LinkedList<T> list = new LinkedList<>();
+    private final RingBuffer<T> list = new RingBuffer<>();
 
     public Queue() { }
 
@@ -16,7 +16,11 @@ public class Queue<T> implements Iterable<T> {
 
     public T dequeue() { return list.removeFirst(); }
 
-    public T peek() { return list.size() == 0 ? null : list.get(0); }
+    public T peek() { return list.peekFirst(); }
+
+    public T get(int index) { return list.get(index); }
+
+    public boolean remove(T value) { return list.remove(value); }
 
     public int size() { return list.size(); }
 
@@ -43,17 +47,17 @@ public class Queue<T> implements Iterable<T> {
         if (list.size() == 0) return null;
         
         Process best = null;
-        T removal = null;
+        int removal = -1;
         
-        for(T item : list) {
-            if (item instanceof Process p) {
+        for(int i = 0; i < list.size(); i++) {
+            if (list.get(i) instanceof Process p) {
                 if (best == null || p.priority() > best.priority()) {
                     best = p;
-                    removal = item;
+                    removal = i;
                 }
             }
         }
-        list.remove(removal);
+        if (removal >= 0) list.removeAt(removal);
         return best;
     }
     
@@ -78,24 +82,27 @@ public class Queue<T> implements Iterable<T> {
         if (list.size() == 0) return null;
         
         Process best = null;
-        T removal = null;
+        int removal = -1;
         
-        for(T item : list) {
-            if (item instanceof Process p) {
+        for(int i = 0; i < list.size(); i++) {
+            if (list.get(i) instanceof Process p) {
                 if (best == null || p.instructions() < best.instructions()) {
                     best = p;
-                    removal = item;
+                    removal = i;
                 }
             }
         }
-        list.remove(removal);
+        if (removal >= 0) list.removeAt(removal);
         return best;
     }
 
     @Override
     public java.util.Iterator<T> iterator() { return list.iterator(); }
     
-    public LinkedList<T> toLinkedList() { return list; }
+    /**
+     * Copia de los elementos de la cola, en orden.
+     */
+    public LinkedList<T> toLinkedList() { return list.toLinkedList(); }
     
     @Override
     public String toString() { return list.toString(); }
@@ -0,0 +1,174 @@
+package sistemas.operativos.proyecto1.lib;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Cola doble sobre un arreglo circular cuya capacidad es siempre potencia de
+ * dos. Inserción y extracción por ambos extremos en O(1) amortizado, acceso
+ * por índice en O(1) y sin crear nodos por elemento.
+ * @author Sebastián
+ * @param <T>
+ */
+public class RingBuffer<T> implements Iterable<T> {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private Object[] elements;
+    private int head = 0;   // índice del primer elemento
+    private int size = 0;
+
+    public RingBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor.
+     * @param capacity Capacidad inicial (se redondea a potencia de dos).
+     */
+    public RingBuffer(int capacity) {
+        int cap = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.elements = new Object[cap];
+    }
+
+    public int size() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    public void addFirst(T value) {
+        if (size == elements.length) grow();
+        head = (head - 1) & (elements.length - 1);
+        elements[head] = value;
+        size++;
+    }
+
+    public void addLast(T value) {
+        if (size == elements.length) grow();
+        elements[(head + size) & (elements.length - 1)] = value;
+        size++;
+    }
+
+    public T removeFirst() {
+        if (size == 0) return null;
+        T val = elementAt(head);
+        elements[head] = null;
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        return val;
+    }
+
+    public T removeLast() {
+        if (size == 0) return null;
+        int last = (head + size - 1) & (elements.length - 1);
+        T val = elementAt(last);
+        elements[last] = null;
+        size--;
+        return val;
+    }
+
+    public T peekFirst() { return size == 0 ? null : elementAt(head); }
+
+    public T peekLast() { return size == 0 ? null : elementAt((head + size - 1) & (elements.length - 1)); }
+
+    public T get(int index) {
+        checkElementIndex(index);
+        return elementAt((head + index) & (elements.length - 1));
+    }
+
+    /**
+     * Elimina el elemento en la posición indicada, desplazando el lado más
+     * corto del buffer.
+     * @return El elemento eliminado.
+     */
+    public T removeAt(int index) {
+        checkElementIndex(index);
+        int mask = elements.length - 1;
+        T val = elementAt((head + index) & mask);
+        if (index < (size >> 1)) {
+            for (int i = index; i > 0; i--) {
+                elements[(head + i) & mask] = elements[(head + i - 1) & mask];
+            }
+            elements[head] = null;
+            head = (head + 1) & mask;
+        } else {
+            for (int i = index; i < size - 1; i++) {
+                elements[(head + i) & mask] = elements[(head + i + 1) & mask];
+            }
+            elements[(head + size - 1) & mask] = null;
+        }
+        size--;
+        return val;
+    }
+
+    /**
+     * Removes first occurrence of value. Returns true if removed.
+     */
+    public boolean remove(T value) {
+        int i = indexOf(value);
+        if (i < 0) return false;
+        removeAt(i);
+        return true;
+    }
+
+    public int indexOf(T value) {
+        int mask = elements.length - 1;
+        for (int i = 0; i < size; i++) {
+            Object cur = elements[(head + i) & mask];
+            if (value == null ? cur == null : value.equals(cur)) return i;
+        }
+        return -1;
+    }
+
+    public void clear() {
+        int mask = elements.length - 1;
+        for (int i = 0; i < size; i++) elements[(head + i) & mask] = null;
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Copia los elementos, en orden, a una LinkedList.
+     */
+    public LinkedList<T> toLinkedList() {
+        LinkedList<T> res = new LinkedList<>();
+        for (int i = 0; i < size; i++) res.addLast(get(i));
+        return res;
+    }
+
+    private void grow() {
+        Object[] bigger = new Object[elements.length << 1];
+        int firstPart = elements.length - head;
+        System.arraycopy(elements, head, bigger, 0, Math.min(firstPart, size));
+        if (firstPart < size) System.arraycopy(elements, 0, bigger, firstPart, size - firstPart);
+        elements = bigger;
+        head = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elementAt(int physical) { return (T) elements[physical]; }
+
+    private void checkElementIndex(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    @Override
+    public java.util.Iterator<T> iterator() {
+        return new java.util.Iterator<T>() {
+            private int i = 0;
+            @Override public boolean hasNext() { return i < size; }
+            @Override public T next() {
+                if (i >= size) throw new NoSuchElementException();
+                return get(i++);
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder().append('[');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(get(i));
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+}
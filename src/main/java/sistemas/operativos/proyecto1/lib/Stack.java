@@ -6,22 +6,42 @@ package sistemas.operativos.proyecto1.lib;
  * @param <T>
  */
 public class Stack<T> {
-    private final LinkedList<T> list = new LinkedList<>();
+    private final RingBuffer<T> list = new RingBuffer<>();   // tope al final
 
     public Stack() { }
 
-    public void push(T value) { list.addFirst(value); }
+    public void push(T value) { list.addLast(value); }
 
-    public T pop() { return list.removeFirst(); }
+    public T pop() { return list.removeLast(); }
 
-    public T peek() { return list.size() == 0 ? null : list.get(0); }
+    public T peek() { return list.peekLast(); }
 
     public int size() { return list.size(); }
 
     public boolean isEmpty() { return list.isEmpty(); }
     
-    public java.util.Iterator<T> iterator() { return list.iterator(); }
+    /**
+     * Recorre la pila desde el tope hacia el fondo.
+     */
+    public java.util.Iterator<T> iterator() {
+        return new java.util.Iterator<T>() {
+            private int i = list.size() - 1;
+            @Override public boolean hasNext() { return i >= 0; }
+            @Override public T next() {
+                if (i < 0) throw new java.util.NoSuchElementException();
+                return list.get(i--);
+            }
+        };
+    }
 
     @Override
-    public String toString() { return list.toString(); }
+    public String toString() {
+        StringBuilder sb = new StringBuilder().append('[');
+        for (int i = list.size() - 1; i >= 0; i--) {
+            sb.append(list.get(i));
+            if (i > 0) sb.append(", ");
+        }
+        sb.append(']');
+        return sb.toString();
+    }
 }
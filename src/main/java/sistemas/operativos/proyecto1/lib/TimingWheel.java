@@ -0,0 +1,193 @@
+package sistemas.operativos.proyecto1.lib;
+
+import java.util.function.IntConsumer;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Rueda de temporización jerárquica. Guarda elementos con un ciclo de
+ * vencimiento y, al avanzar un ciclo, sólo toca la ranura de ese ciclo (más
+ * las cascadas de los niveles superiores cada 64, 64², ... ciclos), en lugar
+ * de recorrer todos los elementos pendientes.
+ *
+ * Los elementos son enteros enlazados mediante un {@link IdLinks}, así que
+ * insertar y eliminar no crea objetos. Dentro de una ranura se mantienen
+ * ordenados por la clave de orden dada, de modo que los que vencen en el
+ * mismo ciclo salen en ese orden.
+ * @author Sebastián
+ */
+public final class TimingWheel {
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;           // 64 ranuras por nivel
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;                  // hasta 64^4 ciclos
+    private static final int OVERFLOW = LEVELS * SLOTS;   // más allá de 64^4 ciclos
+
+    private final IdLinks links;
+    private final IntToLongFunction deadlineOf;
+    private final IntToLongFunction orderOf;
+    private final IntrusiveList[] slots;                  // nivel l, ranura s: slots[l * SLOTS + s]
+    private final int firstTag;                           // etiqueta de slots[0]
+    private final IntrusiveList scratch;
+    private long now;
+    private int size = 0;
+
+    /**
+     * Constructor.
+     * @param links Enlaces de los elementos.
+     * @param start Ciclo actual.
+     * @param deadlineOf Ciclo de vencimiento de cada elemento.
+     * @param orderOf Orden de salida entre elementos que vencen en el mismo
+     * ciclo (menor sale primero).
+     */
+    public TimingWheel(IdLinks links, long start, IntToLongFunction deadlineOf, IntToLongFunction orderOf) {
+        this.links = links;
+        this.now = start;
+        this.deadlineOf = deadlineOf;
+        this.orderOf = orderOf;
+        // Etiquetas consecutivas: la ranura de un elemento sale de su etiqueta
+        this.firstTag = links.newOwner(this, OVERFLOW + 2);
+        this.slots = new IntrusiveList[OVERFLOW + 1];
+        for (int i = 0; i <= OVERFLOW; i++) slots[i] = new IntrusiveList(links, firstTag + i);
+        this.scratch = new IntrusiveList(links, firstTag + OVERFLOW + 1);
+    }
+
+    public int size() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    public long now() { return now; }
+
+    /**
+     * Programa un elemento. Si su vencimiento ya pasó, vence en el siguiente
+     * ciclo.
+     * @param id Elemento (no debe estar en ninguna estructura).
+     */
+    public void schedule(int id) {
+        place(id, Math.max(deadlineOf.applyAsLong(id), now + 1));
+        size++;
+    }
+
+    /**
+     * Cancela un elemento programado, en O(1).
+     * @return false si el elemento no está en esta rueda.
+     */
+    public boolean remove(int id) {
+        if (!contains(id)) return false;
+        slots[links.owner(id) - firstTag].remove(id);
+        size--;
+        return true;
+    }
+
+    public boolean contains(int id) {
+        int slot = links.owner(id) - firstTag;
+        return slot >= 0 && slot <= OVERFLOW;
+    }
+
+    /**
+     * Avanza la rueda hasta el ciclo indicado y mueve a "expired" (al final y
+     * en orden) los elementos que vencen en el camino.
+     * @param target Ciclo destino (no menor al actual).
+     * @param expired Lista que recibe los elementos vencidos.
+     */
+    public void advanceTo(long target, IntrusiveList expired) {
+        if (size == 0) {
+            if (target > now) now = target;
+            return;
+        }
+        while (now < target) {
+            now++;
+            cascade();
+            IntrusiveList slot = slots[(int) (now & MASK)];
+            for (int id = slot.removeFirst(); id != IdLinks.NONE; id = slot.removeFirst()) {
+                size--;
+                expired.addLast(id);
+            }
+            if (size == 0) {
+                now = target;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Cota inferior del próximo vencimiento, mirando sólo la primera ranura
+     * ocupada de cada nivel (no recorre los elementos). Es exacta cuando el
+     * más próximo está en el nivel 0.
+     * @return Ciclo, o Long.MAX_VALUE si la rueda está vacía.
+     */
+    public long nextDeadlineLowerBound() {
+        if (size == 0) return Long.MAX_VALUE;
+        long best = Long.MAX_VALUE;
+        for (int l = 0; l < LEVELS; l++) {
+            int shift = BITS * l;
+            long base = now >>> shift;
+            for (int i = 1; i <= SLOTS; i++) {
+                long tick = base + i;
+                if (!slots[l * SLOTS + (int) (tick & MASK)].isEmpty()) {
+                    best = Math.min(best, Math.max(now + 1, tick << shift));
+                    break;
+                }
+            }
+        }
+        if (!slots[OVERFLOW].isEmpty()) {
+            int shift = BITS * LEVELS;
+            best = Math.min(best, ((now >>> shift) + 1) << shift);
+        }
+        return best;
+    }
+
+    /**
+     * Recorre los elementos programados (en orden de ranura, no de
+     * vencimiento), por ejemplo para mostrarlos en la interfaz. La acción no
+     * debe modificar la rueda.
+     */
+    public void forEach(IntConsumer action) {
+        for (IntrusiveList slot : slots) slot.forEach(action);
+    }
+
+    /**
+     * Al cruzar un múltiplo de 64^l se redistribuye la ranura actual del
+     * nivel l hacia los niveles inferiores; los niveles altos van primero para
+     * que lo que baje a una ranura que también toca redistribuir se procese.
+     */
+    private void cascade() {
+        int top = 0;
+        while (top < LEVELS && (now & ((1L << (BITS * (top + 1))) - 1)) == 0) top++;
+        for (int l = top; l >= 1; l--) {
+            redistribute(slots[(l == LEVELS) ? OVERFLOW : l * SLOTS + (int) ((now >>> (BITS * l)) & MASK)]);
+        }
+    }
+
+    private void redistribute(IntrusiveList slot) {
+        // se pasa todo a "scratch" primero: un elemento puede volver a la misma lista
+        for (int id = slot.removeFirst(); id != IdLinks.NONE; id = slot.removeFirst()) {
+            scratch.addLast(id);
+        }
+        for (int id = scratch.removeFirst(); id != IdLinks.NONE; id = scratch.removeFirst()) {
+            place(id, Math.max(deadlineOf.applyAsLong(id), now));
+        }
+    }
+
+    private void place(int id, long deadline) {
+        long delta = deadline - now;
+        IntrusiveList slot = slots[OVERFLOW];
+        for (int l = 0; l < LEVELS; l++) {
+            if (delta < (1L << (BITS * (l + 1)))) {
+                slot = slots[l * SLOTS + (int) ((deadline >>> (BITS * l)) & MASK)];
+                break;
+            }
+        }
+        insertOrdered(slot, id);
+    }
+
+    /**
+     * Inserta respetando la clave de orden, buscando desde el final (lo
+     * normal es que el elemento nuevo vaya de último).
+     */
+    private void insertOrdered(IntrusiveList slot, int id) {
+        long key = orderOf.applyAsLong(id);
+        int pos = slot.last();
+        while (pos != IdLinks.NONE && orderOf.applyAsLong(pos) > key) pos = slot.prev(pos);
+        slot.addAfter(pos, id);
+    }
+}
@@ -0,0 +1,77 @@
+package sistemas.operativos.proyecto1.process;
+
+/**
+ * Proceso que guarda sus datos en sus propios campos (ver
+ * {@link Process#create}).
+ * @author Sebastián
+ */
+final class FieldProcess extends Process {
+    private final String name;
+    private final int arrivalTime;
+    private final int instructions;
+    private int remainingInstructions;
+    private ProcessState currentState = ProcessState.READY;
+    private final ProcessType type;
+    private final int cyclesForException;
+    private final int cyclesToSatisfy;
+    private int priority;
+    private int startTime = NONE;
+    private int finishTime = NONE;
+    private int cyclesInIO = 0;
+    private long ioReadyCycle = Long.MAX_VALUE;   // ciclo en que se satisface la E/S actual
+    private long ioSeq = 0;                       // orden de llegada a la cola de bloqueados
+
+    private int pc = 0;
+    private int mar = 0;
+
+    private int firstRunCycle = NONE; // primer ciclo en RUNNING
+    private int lastReadyEnqueue = NONE;
+    private long totalWaitCycles = 0;
+
+    FieldProcess(int pid, String name, int arrivalTime, int instructions, ProcessType type, int cyclesForException, int cyclesToSatisfy, int priority) {
+        super(pid);
+        this.name = name;
+        this.arrivalTime = arrivalTime;
+        this.instructions = instructions;
+        this.remainingInstructions = instructions;
+        this.type = type;
+        this.cyclesForException = cyclesForException;
+        this.cyclesToSatisfy = cyclesToSatisfy;
+        this.priority = priority;
+    }
+
+    @Override public String name() { return name; }
+    @Override public int arrival() { return arrivalTime; }
+    @Override public int instructions() { return instructions; }
+    @Override public ProcessType type() { return type; }
+    @Override int cyclesForException() { return cyclesForException; }
+    @Override int cyclesToSatisfy() { return cyclesToSatisfy; }
+
+    @Override public int remaining() { return remainingInstructions; }
+    @Override public ProcessState currentState() { return currentState; }
+    @Override public int priority() { return priority; }
+    @Override public int pc() { return pc; }
+    @Override public int mar() { return mar; }
+    @Override int cyclesInIO() { return cyclesInIO; }
+    @Override public int startTime() { return startTime; }
+    @Override public int finishTime() { return finishTime; }
+    @Override public int firstRun() { return firstRunCycle; }
+    @Override int lastReadyEnqueue() { return lastReadyEnqueue; }
+    @Override public long totalWait() { return totalWaitCycles; }
+    @Override public long ioReadyCycle() { return ioReadyCycle; }
+    @Override public long ioSeq() { return ioSeq; }
+
+    @Override void putRemaining(int v) { remainingInstructions = v; }
+    @Override void putState(ProcessState s) { currentState = s; }
+    @Override void putPriority(int v) { priority = v; }
+    @Override void putPc(int v) { pc = v; }
+    @Override void putMar(int v) { mar = v; }
+    @Override void putCyclesInIO(int v) { cyclesInIO = v; }
+    @Override void putStartTime(int v) { startTime = v; }
+    @Override void putFinishTime(int v) { finishTime = v; }
+    @Override void putFirstRun(int v) { firstRunCycle = v; }
+    @Override void putLastReadyEnqueue(int v) { lastReadyEnqueue = v; }
+    @Override void putTotalWait(long v) { totalWaitCycles = v; }
+    @Override void putIoReadyCycle(long v) { ioReadyCycle = v; }
+    @Override void putIoSeq(long v) { ioSeq = v; }
+}
@@ -1,49 +1,32 @@
 package sistemas.operativos.proyecto1.process;
 
+import sistemas.operativos.proyecto1.lib.BinaryReader;
+import sistemas.operativos.proyecto1.lib.BinaryWriter;
+import java.io.IOException;
+
 /**
  * Clase proceso del simulador.
+ *
+ * Los datos del proceso se guardan de dos maneras: en los campos de un
+ * objeto por proceso ({@link #create}) o en las columnas de una
+ * {@link ProcessTable} columnar, de la que el proceso es sólo una vista
+ * pasajera. Esta clase tiene el comportamiento, escrito sobre los accesores
+ * de cada una. Dos vistas del mismo proceso son iguales (mismo pid).
  * @author Sebastián
  */
-public class Process implements Comparable<Process> {
-    private final String id;
-    private final String name;
-    private final int arrivalTime;
-    private final int instructions;
-    private int remainingInstructions;
-    private ProcessState currentState = ProcessState.READY;
-    private final ProcessType type;
-    private final int cyclesForException;
-    private final int cyclesToSatisfy;
-    private int priority;
-    private Integer startTime = null;
-    private Integer finishTime = null;
-    private Integer cyclesInIO;
-
-    private int pc = 0;
-    private int mar = 0;
-    
-    private Integer firstRunCycle = null; // primer ciclo en RUNNING
-    private Integer lastReadyEnqueue = null;
-    private long totalWaitCycles = 0;
-    
-    public int pc()  { return pc; }
-    public int mar() { return mar; }   
-    
-    public void onEnqueuedReady(int cycle) { 
-    lastReadyEnqueue = cycle; 
-    }
+public abstract class Process implements Comparable<Process> {
+    /** Valor de los tiempos (inicio, fin, primer despacho...) que aún no ocurren. */
+    public static final int NONE = -1;
 
-    public void onDispatchedToCpu(int cycle) {
-        if (lastReadyEnqueue != null) totalWaitCycles += (cycle - lastReadyEnqueue);
-        if (firstRunCycle == null) firstRunCycle = cycle; // para response time
-    }
+    private final int pid;
 
-    public long totalWait()        { return totalWaitCycles; }
-    public Integer firstRun()      { return firstRunCycle; }
+    Process(int pid) {
+        this.pid = pid;
+    }
 
     /**
-     * Constructor.
-     * @param id Identificador del proceso.
+     * Crea un proceso con sus propios campos.
+     * @param pid Identificador del proceso (ver {@link ProcessTable}).
      * @param name Nombre del proceso.
      * @param arrivalTime Tiempo de llegada del proceso.
      * @param instructions Cantidad de instrucciones del proceso.
@@ -52,26 +35,58 @@ public class Process implements Comparable<Process> {
      * @param cyclesToSatisfy Ciclos necesarios para satisfacer dicha excepción.
      * @param priority Nivel de prioridad del proceso.
      */
-    public Process(String id, String name, int arrivalTime, int instructions, ProcessType type, int cyclesForException, int cyclesToSatisfy, int priority) {
-        this.id = id;
-        this.name = name;
-        this.arrivalTime = arrivalTime;
-        this.instructions = instructions;
-        this.remainingInstructions = instructions;
-        this.type = type;
-        this.cyclesForException = cyclesForException;
-        this.cyclesToSatisfy = cyclesToSatisfy;
-        this.priority = priority;
-        this.cyclesInIO = 0;
-    }
-    
-    public String id() { return id; }
-    public String name() { return name; }
-    public int arrival() { return arrivalTime; }
-    public int instructions() { return instructions; }
-    public int remaining() { return remainingInstructions; }
-    public int priority() { return priority; }
-    public void reducePriority() { if(priority > 1) priority--; }
+    public static Process create(int pid, String name, int arrivalTime, int instructions, ProcessType type, int cyclesForException, int cyclesToSatisfy, int priority) {
+        return new FieldProcess(pid, name, arrivalTime, instructions, type, cyclesForException, cyclesToSatisfy, priority);
+    }
+
+    // Datos del proceso, según dónde se guarden
+    public abstract String name();
+    public abstract int arrival();
+    public abstract int instructions();
+    public abstract ProcessType type();
+    abstract int cyclesForException();
+    abstract int cyclesToSatisfy();
+
+    public abstract int remaining();
+    public abstract ProcessState currentState();
+    public abstract int priority();
+    public abstract int pc();
+    public abstract int mar();
+    abstract int cyclesInIO();
+    public abstract int startTime();
+    public abstract int finishTime();
+    public abstract int firstRun();
+    abstract int lastReadyEnqueue();
+    public abstract long totalWait();
+    public abstract long ioReadyCycle();
+    public abstract long ioSeq();
+
+    abstract void putRemaining(int v);
+    abstract void putState(ProcessState s);
+    abstract void putPriority(int v);
+    abstract void putPc(int v);
+    abstract void putMar(int v);
+    abstract void putCyclesInIO(int v);
+    abstract void putStartTime(int v);
+    abstract void putFinishTime(int v);
+    abstract void putFirstRun(int v);
+    abstract void putLastReadyEnqueue(int v);
+    abstract void putTotalWait(long v);
+    abstract void putIoReadyCycle(long v);
+    abstract void putIoSeq(long v);
+
+    public void onEnqueuedReady(int cycle) {
+        putLastReadyEnqueue(cycle);
+    }
+
+    public void onDispatchedToCpu(int cycle) {
+        int enqueued = lastReadyEnqueue();
+        if (enqueued != NONE) putTotalWait(totalWait() + (cycle - enqueued));
+        if (firstRun() == NONE) putFirstRun(cycle); // para response time
+    }
+
+    public int pid() { return pid; }
+    public void reducePriority() { int p = priority(); if(p > 1) putPriority(p - 1); }
 
     /**
      * Ejecuta una instrucción del proceso. Se disminuye la cantidad de
@@ -79,94 +94,222 @@ public class Process implements Comparable<Process> {
      * @return Booleano determinando si se pudo ejecutar la instrucción.
      */
     public boolean executeInstruction() {
-        if (remainingInstructions > 0 && currentState == ProcessState.RUNNING) {
-            pc++;
-            mar++;
-            remainingInstructions--;
-            
+        int remaining = remaining();
+        if (remaining > 0 && currentState() == ProcessState.RUNNING) {
+            putPc(pc() + 1);
+            putMar(mar() + 1);
+            putRemaining(--remaining);
+
             // Verificar si genera excepción I/O (solo para procesos I/O bound)
-            if (type == ProcessType.IO_BOUND && cyclesForException > 0 &&
-                (instructions - remainingInstructions) % cyclesForException == 0) {
-                currentState = ProcessState.BLOCKED;
-                cyclesInIO = 0;
+            int cyclesForException = cyclesForException();
+            if (type() == ProcessType.IO_BOUND && cyclesForException > 0 &&
+                (instructions() - remaining) % cyclesForException == 0) {
+                putState(ProcessState.BLOCKED);
+                putCyclesInIO(0);
                 return true; // Se ejecutó pero ahora está bloqueado
             }
-            
+
             // Verificar si terminó
-            if (remainingInstructions <= 0) {
-                currentState = ProcessState.FINISHED;
+            if (remaining <= 0) {
+                putState(ProcessState.FINISHED);
             }
-            
+
             return true;
         }
         return false;
     }
-    
+
+    /**
+     * Ciclos de ejecución hasta el próximo evento del proceso, contando el
+     * ciclo en que ocurre: una excepción de E/S o su finalización.
+     * @return Cantidad de ciclos (al menos 1 si quedan instrucciones).
+     */
+    public int cyclesUntilEvent() {
+        int remaining = remaining();
+        int cycles = remaining;
+        int cyclesForException = cyclesForException();
+        if (type() == ProcessType.IO_BOUND && cyclesForException > 0) {
+            int executed = instructions() - remaining;
+            cycles = Math.min(cycles, cyclesForException - (executed % cyclesForException));
+        }
+        return cycles;
+    }
+
+    /**
+     * Ejecuta varias instrucciones de una vez. Sólo debe usarse para tramos
+     * sin eventos (ver {@link #cyclesUntilEvent()}): no revisa excepciones ni
+     * finalización.
+     * @param count Cantidad de instrucciones.
+     */
+    public void executeInstructions(int count) {
+        if (currentState() != ProcessState.RUNNING || count <= 0) return;
+        putPc(pc() + count);
+        putMar(mar() + count);
+        putRemaining(remaining() - count);
+    }
+
     /**
      * Contabiliza los ciclos para las excepciones y las satisfacciones.
      * @return Booleano determinando si se logró satisfacer la excepción.
      */
     public boolean processIOCycle() {
-        if (currentState == ProcessState.BLOCKED) {
-            mar++;
-            cyclesInIO++;
+        if (currentState() == ProcessState.BLOCKED) {
+            putMar(mar() + 1);
+            int cyclesInIO = cyclesInIO() + 1;
+            putCyclesInIO(cyclesInIO);
+            int cyclesToSatisfy = cyclesToSatisfy();
             if (cyclesToSatisfy > 0 && cyclesInIO >= cyclesToSatisfy) {
-                currentState = ProcessState.READY;
+                putState(ProcessState.READY);
                 return true;
             }
         }
         return false;
     }
-    
-    public ProcessState currentState() { return currentState; }
+
+    /**
+     * Registra el bloqueo por E/S para calcular, de una vez, el ciclo en que
+     * se satisface la excepción.
+     * @param cycle Ciclo en que se bloqueó.
+     * @param seq Orden de llegada a la cola de bloqueados.
+     */
+    public void onBlockedIO(long cycle, long seq) {
+        int cyclesToSatisfy = cyclesToSatisfy();
+        putIoReadyCycle((cyclesToSatisfy > 0) ? cycle + cyclesToSatisfy : Long.MAX_VALUE);
+        putIoSeq(seq);
+    }
+
+    /**
+     * Satisface la excepción de golpe, dejando los contadores igual que si se
+     * hubiera llamado a processIOCycle() en cada ciclo de espera.
+     */
+    public void completeIO() {
+        if (currentState() == ProcessState.BLOCKED) {
+            int cyclesToSatisfy = cyclesToSatisfy();
+            putMar(mar() + cyclesToSatisfy - cyclesInIO());
+            putCyclesInIO(cyclesToSatisfy);
+            putState(ProcessState.READY);
+        }
+    }
+
     public boolean isFinished() {
-        return currentState == ProcessState.FINISHED || remainingInstructions <= 0;
+        return currentState() == ProcessState.FINISHED || remaining() <= 0;
     }
-    
+
     public boolean isBlockedIO() {
-        return currentState == ProcessState.BLOCKED;
+        return currentState() == ProcessState.BLOCKED;
     }
-    
+
     public boolean isRunning() {
-        return currentState == ProcessState.RUNNING;
+        return currentState() == ProcessState.RUNNING;
     }
-    
+
     public boolean isReady() {
-        return currentState == ProcessState.READY;
+        return currentState() == ProcessState.READY;
     }
-    
+
     public void setFinished() {
-        this.currentState = ProcessState.FINISHED;
+        putState(ProcessState.FINISHED);
     }
-    
+
     public void setBlocked() {
-        this.currentState = ProcessState.BLOCKED;
+        putState(ProcessState.BLOCKED);
     }
-    
+
     public void setRunning() {
-        this.currentState = ProcessState.RUNNING;
+        putState(ProcessState.RUNNING);
     }
-    
+
     public void setReady() {
-        this.currentState = ProcessState.READY;
+        putState(ProcessState.READY);
     }
 
-    public Integer startTime() { return startTime; }
-    public void setStartTime(int t) { if (startTime == null) startTime = t; }
+    public void setStartTime(int t) { if (startTime() == NONE) putStartTime(t); }
+    public void setFinishTime(int t) { putFinishTime(t); }
 
-    public Integer finishTime() { return finishTime; }
-    public void setFinishTime(int t) { finishTime = t; }
+    public boolean finished() { return remaining() == 0; }
 
-    public boolean finished() { return remainingInstructions == 0; }
+    /**
+     * Escribe todos los campos del proceso (para los puntos de control). Los
+     * tiempos que aún no ocurren se guardan como -1 ({@link #NONE}).
+     * @param out Salida.
+     * @throws IOException Si falla la escritura.
+     */
+    public void writeTo(BinaryWriter out) throws IOException {
+        out.writeInt(pid);
+        out.writeString(name());
+        out.writeInt(arrival());
+        out.writeInt(instructions());
+        out.writeInt(remaining());
+        out.writeByte(currentState().ordinal());
+        out.writeByte(type().ordinal());
+        out.writeInt(cyclesForException());
+        out.writeInt(cyclesToSatisfy());
+        out.writeInt(priority());
+        out.writeInt(startTime());
+        out.writeInt(finishTime());
+        out.writeInt(cyclesInIO());
+        out.writeLong(ioReadyCycle());
+        out.writeLong(ioSeq());
+        out.writeInt(pc());
+        out.writeInt(mar());
+        out.writeInt(firstRun());
+        out.writeInt(lastReadyEnqueue());
+        out.writeLong(totalWait());
+    }
+
+    /**
+     * Lee un proceso escrito con {@link #writeTo(BinaryWriter)}.
+     * @param in Entrada.
+     * @return Proceso con sus propios campos (ver
+     * {@link ProcessTable#put(Process)}).
+     * @throws IOException Si falla la lectura.
+     */
+    public static Process readFrom(BinaryReader in) throws IOException {
+        int pid = in.readInt();
+        String name = in.readString();
+        int arrival = in.readInt();
+        int instructions = in.readInt();
+        int remaining = in.readInt();
+        ProcessState state = ProcessState.values()[in.readByte()];
+        ProcessType type = ProcessType.values()[in.readByte()];
+        int cfe = in.readInt();
+        int cts = in.readInt();
+        int priority = in.readInt();
+
+        Process p = create(pid, name, arrival, instructions, type, cfe, cts, priority);
+        p.putRemaining(remaining);
+        p.putState(state);
+        p.putStartTime(optional(in.readInt()));
+        p.putFinishTime(optional(in.readInt()));
+        p.putCyclesInIO(Math.max(0, in.readInt()));
+        p.putIoReadyCycle(in.readLong());
+        p.putIoSeq(in.readLong());
+        p.putPc(in.readInt());
+        p.putMar(in.readInt());
+        p.putFirstRun(optional(in.readInt()));
+        p.putLastReadyEnqueue(optional(in.readInt()));
+        p.putTotalWait(in.readLong());
+        return p;
+    }
+
+    private static int optional(int v) { return (v < 0) ? NONE : v; }
 
     @Override
     public int compareTo(Process o) {
         //return Integer.compare(this.priority, o.priority());
-        return Integer.compare(this.priority, o.priority());
+        return Integer.compare(this.priority(), o.priority());
     }
 
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Process other && other.pid == pid;
+    }
+
+    @Override
+    public int hashCode() { return Integer.hashCode(pid); }
+
     @Override
     public String toString() {
-        return String.format("P%s(nam=%s,arr=%d,ins=%d,rem=%d)", id, name, arrivalTime, instructions, remainingInstructions);
+        return String.format("P%d(nam=%s,arr=%d,ins=%d,rem=%d)", pid, name(), arrival(), instructions(), remaining());
     }
 }
@@ -0,0 +1,446 @@
+package sistemas.operativos.proyecto1.process;
+
+import sistemas.operativos.proyecto1.lib.IdLinks;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Tabla de procesos indexada por pid. Los pids son enteros que se asignan en
+ * orden creciente, así que buscar un proceso es O(1), un acceso a un arreglo.
+ *
+ * La tabla se divide en bloques de {@value #CHUNK_ROWS} pids que nunca se
+ * copian ni se agrandan. Un bloque cuyos procesos ya se quitaron todos se
+ * descarta, así que, si los procesos terminados no se guardan, la tabla no
+ * crece con el total de procesos creados sino con los que están vivos a la
+ * vez. Las lecturas no toman el candado de la tabla: ven el directorio de
+ * bloques vigente.
+ *
+ * Cada bloque guarda también los enlaces de sus procesos ({@link IdLinks}):
+ * las colas del CPU son listas y montículos de pids, sin un nodo por
+ * proceso.
+ *
+ * En modo columnar los datos de los procesos tampoco están en un objeto por
+ * proceso sino repartidos en arreglos paralelos ({@code int[]},
+ * {@code long[]}...) de cada bloque, con {@link Process#NONE} en lugar de
+ * null; {@link #get(int)} devuelve una vista pasajera sobre la fila. Los
+ * nombres se guardan en UTF-8, seguidos, en un solo arreglo por bloque. Así
+ * un proceso ocupa unos 110 bytes más su nombre, y recorrer una columna es
+ * un acceso secuencial a memoria.
+ * @author Sebastián
+ */
+public final class ProcessTable implements IdLinks {
+    static final int CHUNK_BITS = 10;
+    static final int CHUNK_ROWS = 1 << CHUNK_BITS;
+    private static final int ROW_MASK = CHUNK_ROWS - 1;
+    private static final ProcessState[] STATES = ProcessState.values();
+    private static final ProcessType[] TYPES = ProcessType.values();
+
+    /** Bloque de pids: sus enlaces y sus procesos (objetos o columnas). */
+    private static final class Chunk {
+        final int[] next = new int[CHUNK_ROWS];
+        final int[] prev = new int[CHUNK_ROWS];
+        final int[] owner = new int[CHUNK_ROWS];
+        final int[] index = new int[CHUNK_ROWS];
+        final Process[] rows;       // null en modo columnar
+        final Columns columns;      // null si no es columnar
+        int live = 0;               // procesos del bloque en la tabla
+
+        Chunk(boolean columnar) {
+            Arrays.fill(owner, NONE);
+            this.rows = columnar ? null : new Process[CHUNK_ROWS];
+            this.columns = columnar ? new Columns() : null;
+        }
+
+        boolean has(int row) {
+            return (rows != null) ? rows[row] != null : columns.present[row];
+        }
+    }
+
+    /** Columnas de los procesos de un bloque (modo columnar). */
+    private static final class Columns {
+        final boolean[] present = new boolean[CHUNK_ROWS];
+        byte[] names = new byte[CHUNK_ROWS * 8];   // nombres en UTF-8, seguidos
+        int namesUsed = 0;
+        final int[] nameStart = new int[CHUNK_ROWS];
+        final int[] nameEnd = new int[CHUNK_ROWS];
+        final int[] arrival = new int[CHUNK_ROWS];
+        final int[] instructions = new int[CHUNK_ROWS];
+        final int[] remaining = new int[CHUNK_ROWS];
+        final byte[] state = new byte[CHUNK_ROWS];
+        final byte[] type = new byte[CHUNK_ROWS];
+        final int[] cyclesForException = new int[CHUNK_ROWS];
+        final int[] cyclesToSatisfy = new int[CHUNK_ROWS];
+        final int[] priority = new int[CHUNK_ROWS];
+        final int[] startTime = new int[CHUNK_ROWS];
+        final int[] finishTime = new int[CHUNK_ROWS];
+        final int[] cyclesInIO = new int[CHUNK_ROWS];
+        final long[] ioReadyCycle = new long[CHUNK_ROWS];
+        final long[] ioSeq = new long[CHUNK_ROWS];
+        final int[] pc = new int[CHUNK_ROWS];
+        final int[] mar = new int[CHUNK_ROWS];
+        final int[] firstRun = new int[CHUNK_ROWS];
+        final int[] lastReadyEnqueue = new int[CHUNK_ROWS];
+        final long[] totalWait = new long[CHUNK_ROWS];
+
+        synchronized void setName(int row, String name) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            if (namesUsed + bytes.length > names.length) {
+                names = Arrays.copyOf(names, Math.max(namesUsed + bytes.length, names.length * 2));
+            }
+            System.arraycopy(bytes, 0, names, namesUsed, bytes.length);
+            nameStart[row] = namesUsed;
+            namesUsed += bytes.length;
+            nameEnd[row] = namesUsed;
+        }
+
+        synchronized String name(int row) {
+            return new String(names, nameStart[row], nameEnd[row] - nameStart[row], StandardCharsets.UTF_8);
+        }
+
+        void set(int row, Process p) {
+            setName(row, p.name());
+            arrival[row] = p.arrival();
+            instructions[row] = p.instructions();
+            remaining[row] = p.remaining();
+            state[row] = (byte) p.currentState().ordinal();
+            type[row] = (byte) p.type().ordinal();
+            cyclesForException[row] = p.cyclesForException();
+            cyclesToSatisfy[row] = p.cyclesToSatisfy();
+            priority[row] = p.priority();
+            startTime[row] = p.startTime();
+            finishTime[row] = p.finishTime();
+            cyclesInIO[row] = p.cyclesInIO();
+            ioReadyCycle[row] = p.ioReadyCycle();
+            ioSeq[row] = p.ioSeq();
+            pc[row] = p.pc();
+            mar[row] = p.mar();
+            firstRun[row] = p.firstRun();
+            lastReadyEnqueue[row] = p.lastReadyEnqueue();
+            totalWait[row] = p.totalWait();
+            present[row] = true;
+        }
+    }
+
+    /** Directorio de bloques; se reemplaza entero al agregar o descartar uno. */
+    private static final class Directory {
+        final Chunk[] chunks;
+        final int first;    // índice de bloque de chunks[0]
+
+        Directory(Chunk[] chunks, int first) {
+            this.chunks = chunks;
+            this.first = first;
+        }
+
+        Chunk chunk(int pid) {
+            int i = (pid >>> CHUNK_BITS) - first;
+            return (pid >= 0 && i >= 0 && i < chunks.length) ? chunks[i] : null;
+        }
+    }
+
+    private final boolean columnar;
+    private volatile Directory dir = new Directory(new Chunk[0], 0);
+    private int nextPid = 0;
+    private int size = 0;
+    private Object[] owners = new Object[16];   // estructura de cada etiqueta de dueño
+    private int ownerCount = 0;
+
+    public ProcessTable() {
+        this(false);
+    }
+
+    /**
+     * Constructor.
+     * @param columnar Si true, los datos de los procesos se guardan por
+     * columnas y {@link #get(int)} devuelve vistas.
+     */
+    public ProcessTable(boolean columnar) {
+        this.columnar = columnar;
+    }
+
+    public boolean isColumnar() { return columnar; }
+
+    /**
+     * Crea un proceso con el siguiente pid y lo agrega, todo bajo el candado
+     * de la tabla.
+     * @param name Nombre del proceso.
+     * @param arrivalTime Tiempo de llegada del proceso.
+     * @param instructions Cantidad de instrucciones del proceso.
+     * @param type Tipo de proceso [CPU_BOUND - IO_BOUND].
+     * @param cyclesForException Ciclos necesarios para generar una excepción.
+     * @param cyclesToSatisfy Ciclos necesarios para satisfacer dicha excepción.
+     * @param priority Nivel de prioridad del proceso.
+     * @return Proceso creado (en modo columnar, una vista).
+     */
+    public synchronized Process add(String name, int arrivalTime, int instructions, ProcessType type, int cyclesForException, int cyclesToSatisfy, int priority) {
+        if (nextPid == Integer.MAX_VALUE) throw new IllegalStateException("Se agotaron los pids");
+        int pid = nextPid;
+        Chunk c = chunkFor(pid);
+        int row = pid & ROW_MASK;
+        Process p;
+        if (columnar) {
+            Columns k = c.columns;
+            k.setName(row, name);
+            k.arrival[row] = arrivalTime;
+            k.instructions[row] = instructions;
+            k.remaining[row] = instructions;
+            k.state[row] = (byte) ProcessState.READY.ordinal();
+            k.type[row] = (byte) type.ordinal();
+            k.cyclesForException[row] = cyclesForException;
+            k.cyclesToSatisfy[row] = cyclesToSatisfy;
+            k.priority[row] = priority;
+            k.startTime[row] = Process.NONE;
+            k.finishTime[row] = Process.NONE;
+            k.ioReadyCycle[row] = Long.MAX_VALUE;
+            k.firstRun[row] = Process.NONE;
+            k.lastReadyEnqueue[row] = Process.NONE;
+            k.present[row] = true;
+            p = new View(pid, k, row);
+        } else {
+            p = Process.create(pid, name, arrivalTime, instructions, type, cyclesForException, cyclesToSatisfy, priority);
+            c.rows[row] = p;
+        }
+        c.live++;
+        size++;
+        nextPid = pid + 1;
+        return p;
+    }
+
+    /**
+     * Agrega un proceso leído de un punto de control, en el lugar de su pid
+     * (en modo columnar se copian sus datos a las columnas).
+     * @param p Proceso, con un pid que no esté en la tabla.
+     * @return El proceso de la tabla (en modo columnar, una vista).
+     */
+    public synchronized Process put(Process p) {
+        int pid = p.pid();
+        if (pid < 0) throw new IllegalArgumentException("pid inválido: " + pid);
+        Chunk c = chunkFor(pid);
+        int row = pid & ROW_MASK;
+        if (c.has(row)) throw new IllegalArgumentException("pid " + pid + " ya está en la tabla");
+        if (columnar) {
+            c.columns.set(row, p);
+            p = new View(pid, c.columns, row);
+        } else {
+            c.rows[row] = p;
+        }
+        c.live++;
+        size++;
+        if (pid >= nextPid) nextPid = pid + 1;
+        return p;
+    }
+
+    /**
+     * Hace que el siguiente pid asignado sea al menos el indicado (al
+     * restaurar una tabla, para no repetir los pids que ya no existen).
+     */
+    public synchronized void skipTo(int pid) {
+        if (pid > nextPid) nextPid = pid;
+    }
+
+    /** Siguiente pid que se asignará. */
+    public synchronized int nextPid() { return nextPid; }
+
+    /** Cantidad de procesos en la tabla. */
+    public synchronized int size() { return size; }
+
+    /**
+     * Proceso con un pid.
+     * @return Proceso (en modo columnar, una vista nueva), o null si no está
+     * en la tabla.
+     */
+    public Process get(int pid) {
+        Chunk c = dir.chunk(pid);
+        int row = pid & ROW_MASK;
+        if (c == null || !c.has(row)) return null;
+        return (c.rows != null) ? c.rows[row] : new View(pid, c.columns, row);
+    }
+
+    /**
+     * Quita un proceso de la tabla. Sus vistas siguen siendo legibles (el
+     * registro de eventos las lee después). No debe estar en ninguna cola.
+     * @return false si no estaba.
+     */
+    public synchronized boolean remove(int pid) {
+        Directory d = dir;
+        Chunk c = d.chunk(pid);
+        int row = pid & ROW_MASK;
+        if (c == null || !c.has(row)) return false;
+        if (c.rows != null) c.rows[row] = null;
+        else c.columns.present[row] = false;
+        size--;
+        // Los pids se asignan en orden: un bloque ya pasado no vuelve a usarse
+        if (--c.live == 0 && ((pid | ROW_MASK) < nextPid)) drop(d, pid >>> CHUNK_BITS);
+        return true;
+    }
+
+    /**
+     * Recorre los procesos de la tabla en orden de pid (en modo columnar,
+     * bloque por bloque y con una vista por proceso).
+     */
+    public void forEach(Consumer<Process> action) {
+        Directory d = dir;
+        for (int i = 0; i < d.chunks.length; i++) {
+            Chunk c = d.chunks[i];
+            if (c == null) continue;
+            int base = (d.first + i) << CHUNK_BITS;
+            for (int row = 0; row < CHUNK_ROWS; row++) {
+                if (!c.has(row)) continue;
+                action.accept((c.rows != null) ? c.rows[row] : new View(base | row, c.columns, row));
+            }
+        }
+    }
+
+    private Chunk chunkFor(int pid) {
+        Directory d = dir;
+        Chunk c = d.chunk(pid);
+        if (c != null) return c;
+        int index = pid >>> CHUNK_BITS;
+        c = new Chunk(columnar);
+        int first = (d.chunks.length == 0) ? index : Math.min(d.first, index);
+        int last = (d.chunks.length == 0) ? index : Math.max(d.first + d.chunks.length - 1, index);
+        Chunk[] chunks = new Chunk[last - first + 1];
+        System.arraycopy(d.chunks, 0, chunks, d.first - first, d.chunks.length);
+        chunks[index - first] = c;
+        dir = new Directory(chunks, first);
+        return c;
+    }
+
+    private void drop(Directory d, int index) {
+        Chunk[] chunks = d.chunks.clone();
+        chunks[index - d.first] = null;
+        int from = 0;
+        while (from < chunks.length && chunks[from] == null) from++;
+        int to = chunks.length;
+        while (to > from && chunks[to - 1] == null) to--;
+        dir = new Directory(Arrays.copyOfRange(chunks, from, to), d.first + from);
+    }
+
+    private Chunk linked(int id) {
+        Chunk c = dir.chunk(id);
+        if (c == null) throw new IllegalArgumentException("pid " + id + " no está en la tabla");
+        return c;
+    }
+
+    // Enlaces de las colas del CPU (ver IdLinks)
+
+    @Override public int next(int id) { return linked(id).next[id & ROW_MASK]; }
+    @Override public void setNext(int id, int next) { linked(id).next[id & ROW_MASK] = next; }
+    @Override public int prev(int id) { return linked(id).prev[id & ROW_MASK]; }
+    @Override public void setPrev(int id, int prev) { linked(id).prev[id & ROW_MASK] = prev; }
+    @Override
+    public int owner(int id) {
+        Chunk c = dir.chunk(id);   // un proceso que ya no está en la tabla no está en ninguna cola
+        return (c == null) ? NONE : c.owner[id & ROW_MASK];
+    }
+
+    @Override public void setOwner(int id, int owner) { linked(id).owner[id & ROW_MASK] = owner; }
+    @Override public int index(int id) { return linked(id).index[id & ROW_MASK]; }
+    @Override public void setIndex(int id, int index) { linked(id).index[id & ROW_MASK] = index; }
+
+    @Override
+    public synchronized int newOwner(Object structure, int count) {
+        if (ownerCount + count > owners.length) {
+            owners = Arrays.copyOf(owners, Math.max(ownerCount + count, owners.length * 2));
+        }
+        int tag = ownerCount;
+        Arrays.fill(owners, tag, tag + count, structure);
+        ownerCount += count;
+        return tag;
+    }
+
+    /**
+     * Cola en la que está un proceso, en O(1): la cola de listos de un
+     * núcleo, la de bloqueados o la de terminados (la estructura completa, no
+     * la lista interna en la que esté enlazado).
+     * @return La cola, o null si no está en ninguna (por ejemplo, en
+     * ejecución) o no está en la tabla.
+     */
+    public synchronized Object queueOf(int pid) {
+        Chunk c = dir.chunk(pid);
+        if (c == null) return null;
+        int tag = c.owner[pid & ROW_MASK];
+        return (tag == NONE) ? null : owners[tag];
+    }
+
+    // Claves de las colas, sin crear vistas
+
+    public int arrival(int pid) {
+        Chunk c = linked(pid);
+        return (c.rows != null) ? c.rows[pid & ROW_MASK].arrival() : c.columns.arrival[pid & ROW_MASK];
+    }
+
+    public int instructions(int pid) {
+        Chunk c = linked(pid);
+        return (c.rows != null) ? c.rows[pid & ROW_MASK].instructions() : c.columns.instructions[pid & ROW_MASK];
+    }
+
+    public int remaining(int pid) {
+        Chunk c = linked(pid);
+        return (c.rows != null) ? c.rows[pid & ROW_MASK].remaining() : c.columns.remaining[pid & ROW_MASK];
+    }
+
+    public int priority(int pid) {
+        Chunk c = linked(pid);
+        return (c.rows != null) ? c.rows[pid & ROW_MASK].priority() : c.columns.priority[pid & ROW_MASK];
+    }
+
+    public long ioReadyCycle(int pid) {
+        Chunk c = linked(pid);
+        return (c.rows != null) ? c.rows[pid & ROW_MASK].ioReadyCycle() : c.columns.ioReadyCycle[pid & ROW_MASK];
+    }
+
+    public long ioSeq(int pid) {
+        Chunk c = linked(pid);
+        return (c.rows != null) ? c.rows[pid & ROW_MASK].ioSeq() : c.columns.ioSeq[pid & ROW_MASK];
+    }
+
+    /**
+     * Vista de un proceso sobre su fila de un bloque columnar.
+     */
+    private static final class View extends Process {
+        private final Columns c;
+        private final int row;
+
+        View(int pid, Columns c, int row) {
+            super(pid);
+            this.c = c;
+            this.row = row;
+        }
+
+        @Override public String name() { return c.name(row); }
+        @Override public int arrival() { return c.arrival[row]; }
+        @Override public int instructions() { return c.instructions[row]; }
+        @Override public ProcessType type() { return TYPES[c.type[row]]; }
+        @Override int cyclesForException() { return c.cyclesForException[row]; }
+        @Override int cyclesToSatisfy() { return c.cyclesToSatisfy[row]; }
+
+        @Override public int remaining() { return c.remaining[row]; }
+        @Override public ProcessState currentState() { return STATES[c.state[row]]; }
+        @Override public int priority() { return c.priority[row]; }
+        @Override public int pc() { return c.pc[row]; }
+        @Override public int mar() { return c.mar[row]; }
+        @Override int cyclesInIO() { return c.cyclesInIO[row]; }
+        @Override public int startTime() { return c.startTime[row]; }
+        @Override public int finishTime() { return c.finishTime[row]; }
+        @Override public int firstRun() { return c.firstRun[row]; }
+        @Override int lastReadyEnqueue() { return c.lastReadyEnqueue[row]; }
+        @Override public long totalWait() { return c.totalWait[row]; }
+        @Override public long ioReadyCycle() { return c.ioReadyCycle[row]; }
+        @Override public long ioSeq() { return c.ioSeq[row]; }
+
+        @Override void putRemaining(int v) { c.remaining[row] = v; }
+        @Override void putState(ProcessState s) { c.state[row] = (byte) s.ordinal(); }
+        @Override void putPriority(int v) { c.priority[row] = v; }
+        @Override void putPc(int v) { c.pc[row] = v; }
+        @Override void putMar(int v) { c.mar[row] = v; }
+        @Override void putCyclesInIO(int v) { c.cyclesInIO[row] = v; }
+        @Override void putStartTime(int v) { c.startTime[row] = v; }
+        @Override void putFinishTime(int v) { c.finishTime[row] = v; }
+        @Override void putFirstRun(int v) { c.firstRun[row] = v; }
+        @Override void putLastReadyEnqueue(int v) { c.lastReadyEnqueue[row] = v; }
+        @Override void putTotalWait(long v) { c.totalWait[row] = v; }
+        @Override void putIoReadyCycle(long v) { c.ioReadyCycle[row] = v; }
+        @Override void putIoSeq(long v) { c.ioSeq[row] = v; }
+    }
+}
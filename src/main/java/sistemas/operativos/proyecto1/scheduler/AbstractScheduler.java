@@ -0,0 +1,46 @@
+package sistemas.operativos.proyecto1.scheduler;
+
+import sistemas.operativos.proyecto1.Config;
+import sistemas.operativos.proyecto1.Stats;
+import sistemas.operativos.proyecto1.process.Process;
+
+/**
+ * Comportamiento común: despacho en el orden de la cola y sin quantum.
+ * @author Sebastián
+ */
+public abstract class AbstractScheduler implements Scheduler {
+    protected final Config config;
+    protected final Stats stats;
+
+    protected AbstractScheduler(Config config, Stats stats) {
+        this.config = config;
+        this.stats = stats;
+    }
+
+    @Override
+    public Process select(ReadyQueue readyQueue) { return readyQueue.poll(); }
+
+    @Override
+    public boolean shouldPreempt(Process running, Process candidate) { return false; }
+
+    @Override
+    public boolean onTick(Process running) { return false; }
+
+    @Override
+    public void onQuantumExpiry(Process p) { }
+
+    @Override
+    public void onBlock(Process p) { }
+
+    @Override
+    public void onFinish(Process p) { }
+
+    @Override
+    public long quietTicks() { return Long.MAX_VALUE; }
+
+    @Override
+    public void onTicks(long ticks) { }
+
+    @Override
+    public String toString() { return name(); }
+}
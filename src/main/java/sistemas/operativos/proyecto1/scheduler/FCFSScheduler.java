@@ -0,0 +1,27 @@
+package sistemas.operativos.proyecto1.scheduler;
+
+import sistemas.operativos.proyecto1.Config;
+import sistemas.operativos.proyecto1.PlanPolicy;
+import sistemas.operativos.proyecto1.Stats;
+import sistemas.operativos.proyecto1.process.ProcessTable;
+
+/**
+ * Política de planificación FCFS (First-Come First-Served)
+ * 
+ * Se ejecutan los procesos tal cual como se van añadiendo a la cola de listos.
+ * @author Sebastián
+ */
+public final class FCFSScheduler extends AbstractScheduler {
+    public FCFSScheduler(Config config, Stats stats) {
+        super(config, stats);
+    }
+
+    @Override
+    public PlanPolicy policy() { return PlanPolicy.FCFS; }
+
+    @Override
+    public String name() { return "First-Come, First-Served"; }
+
+    @Override
+    public ReadyQueue newReadyQueue(ProcessTable processes) { return new FifoReadyQueue(processes); }
+}
@@ -0,0 +1,58 @@
+package sistemas.operativos.proyecto1.scheduler;
+
+import sistemas.operativos.proyecto1.lib.IdLinks;
+import sistemas.operativos.proyecto1.lib.LinkedList;
+import sistemas.operativos.proyecto1.lib.IntrusiveList;
+import sistemas.operativos.proyecto1.process.Process;
+import sistemas.operativos.proyecto1.process.ProcessTable;
+
+/**
+ * Cola de listos FIFO, usada por FCFS y RR.
+ * @author Sebastián
+ */
+public final class FifoReadyQueue implements ReadyQueue {
+    private final ProcessTable processes;
+    private final IntrusiveList queue;
+
+    public FifoReadyQueue(ProcessTable processes) {
+        this.processes = processes;
+        this.queue = new IntrusiveList(processes, processes.newOwner(this, 1));
+    }
+
+    @Override
+    public void offer(Process p) { queue.addLast(p.pid()); }
+
+    @Override
+    public Process poll() {
+        int pid = queue.removeFirst();
+        return (pid == IdLinks.NONE) ? null : processes.get(pid);
+    }
+
+    @Override
+    public Process peek() {
+        int pid = queue.first();
+        return (pid == IdLinks.NONE) ? null : processes.get(pid);
+    }
+
+    @Override
+    public boolean remove(Process p) { return queue.remove(p.pid()); }
+
+    @Override
+    public boolean contains(Process p) { return queue.contains(p.pid()); }
+
+    @Override
+    public int size() { return queue.size(); }
+
+    @Override
+    public boolean isEmpty() { return queue.isEmpty(); }
+
+    @Override
+    public LinkedList<Process> toLinkedList() {
+        LinkedList<Process> res = new LinkedList<>();
+        queue.forEach(pid -> res.addLast(processes.get(pid)));
+        return res;
+    }
+
+    @Override
+    public String toString() { return toLinkedList().toString(); }
+}
@@ -0,0 +1,67 @@
+package sistemas.operativos.proyecto1.scheduler;
+
+import java.util.function.IntToLongFunction;
+import sistemas.operativos.proyecto1.lib.IdLinks;
+import sistemas.operativos.proyecto1.lib.IntHeap;
+import sistemas.operativos.proyecto1.lib.LinkedList;
+import sistemas.operativos.proyecto1.process.Process;
+import sistemas.operativos.proyecto1.process.ProcessTable;
+
+/**
+ * Cola de listos ordenada por una clave entera; sale primero el proceso con
+ * la clave más pequeña. SPN la usa con las instrucciones totales y SRT con
+ * las instrucciones restantes. La clave no cambia mientras el proceso está
+ * en cola: las instrucciones restantes sólo bajan en ejecución.
+ * @author Sebastián
+ */
+public final class HeapReadyQueue implements ReadyQueue {
+    private final ProcessTable processes;
+    private final IntHeap heap;
+
+    /**
+     * Constructor.
+     * @param processes Tabla de procesos.
+     * @param key Clave de ordenamiento de cada pid (menor sale primero).
+     */
+    public HeapReadyQueue(ProcessTable processes, IntToLongFunction key) {
+        this.processes = processes;
+        this.heap = new IntHeap(processes, key, this);
+    }
+
+    @Override
+    public void offer(Process p) { heap.add(p.pid()); }
+
+    @Override
+    public Process poll() {
+        int pid = heap.poll();
+        return (pid == IdLinks.NONE) ? null : processes.get(pid);
+    }
+
+    @Override
+    public Process peek() {
+        int pid = heap.peek();
+        return (pid == IdLinks.NONE) ? null : processes.get(pid);
+    }
+
+    @Override
+    public boolean remove(Process p) { return heap.remove(p.pid()); }
+
+    @Override
+    public boolean contains(Process p) { return heap.contains(p.pid()); }
+
+    @Override
+    public int size() { return heap.size(); }
+
+    @Override
+    public boolean isEmpty() { return heap.isEmpty(); }
+
+    @Override
+    public LinkedList<Process> toLinkedList() {
+        LinkedList<Process> res = new LinkedList<>();
+        for (int i = 0; i < heap.size(); i++) res.addLast(processes.get(heap.get(i)));
+        return res;
+    }
+
+    @Override
+    public String toString() { return toLinkedList().toString(); }
+}
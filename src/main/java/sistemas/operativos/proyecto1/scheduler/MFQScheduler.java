@@ -0,0 +1,39 @@
+package sistemas.operativos.proyecto1.scheduler;
+
+import sistemas.operativos.proyecto1.Config;
+import sistemas.operativos.proyecto1.LogEvent;
+import sistemas.operativos.proyecto1.PlanPolicy;
+import sistemas.operativos.proyecto1.Stats;
+import sistemas.operativos.proyecto1.process.Process;
+import sistemas.operativos.proyecto1.process.ProcessTable;
+
+/**
+ * Política de planificación MFQ (Multilevel Feedback Queue)
+ * 
+ * Se ejecutan los procesos con mayor nivel de prioridad y mediante un
+ * valor "quantum" asignado a cada proceso, el cual va disminuyendo por
+ * cada ciclo. Si el "Quantum" del proceso llega a 0, se expulsa del CPU,
+ * se añade al final de la cola de listos y se le disminuye el nivel de
+ * prioridad en 1 a menos de que su nivel sea igual a 1.
+ * @author Sebastián
+ */
+public final class MFQScheduler extends QuantumScheduler {
+    public MFQScheduler(Config config, Stats stats) {
+        super(config, stats);
+    }
+
+    @Override
+    public PlanPolicy policy() { return PlanPolicy.MFQ; }
+
+    @Override
+    public String name() { return "Multilevel Feedback Queue"; }
+
+    @Override
+    public ReadyQueue newReadyQueue(ProcessTable processes) { return new PriorityBucketReadyQueue(processes); }
+
+    @Override
+    public void onQuantumExpiry(Process p) {
+        p.reducePriority();
+        stats.log(LogEvent.PRIORITY_REDUCED, p, p.priority());
+    }
+}
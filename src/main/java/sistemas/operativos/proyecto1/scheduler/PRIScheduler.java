@@ -0,0 +1,30 @@
+package sistemas.operativos.proyecto1.scheduler;
+
+import sistemas.operativos.proyecto1.Config;
+import sistemas.operativos.proyecto1.PlanPolicy;
+import sistemas.operativos.proyecto1.Stats;
+import sistemas.operativos.proyecto1.process.ProcessTable;
+
+/**
+ * Política de planificación PRI (Por prioridades; mayor número, mayor prioridad)
+ * 
+ * Se ejecutan los procesos que se van sacando de la cola de prioridad de
+ * listos. Conforme se van sacando procesos de la cola, van saliendo los
+ * que mayor nivel de prioridad tienen, y van quedando los que menor
+ * prioridad tienen.
+ * @author Sebastián
+ */
+public final class PRIScheduler extends AbstractScheduler {
+    public PRIScheduler(Config config, Stats stats) {
+        super(config, stats);
+    }
+
+    @Override
+    public PlanPolicy policy() { return PlanPolicy.PRI; }
+
+    @Override
+    public String name() { return "Cola por prioridad"; }
+
+    @Override
+    public ReadyQueue newReadyQueue(ProcessTable processes) { return new PriorityBucketReadyQueue(processes); }
+}
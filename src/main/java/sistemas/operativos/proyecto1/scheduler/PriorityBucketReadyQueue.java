@@ -0,0 +1,108 @@
+package sistemas.operativos.proyecto1.scheduler;
+
+import java.util.Arrays;
+import sistemas.operativos.proyecto1.lib.LinkedList;
+import sistemas.operativos.proyecto1.lib.IntrusiveList;
+import sistemas.operativos.proyecto1.process.Process;
+import sistemas.operativos.proyecto1.process.ProcessTable;
+
+/**
+ * Cola de listos por niveles de prioridad, usada por PRI y MFQ. Hay una cola
+ * FIFO por nivel; sale primero el proceso de mayor prioridad y, dentro del
+ * mismo nivel, el que llegó primero.
+ * @author Sebastián
+ */
+public final class PriorityBucketReadyQueue implements ReadyQueue {
+    private final ProcessTable processes;
+    private IntrusiveList[] buckets = new IntrusiveList[16];
+    private int top = -1;   // nivel más alto que puede tener procesos
+    private int size = 0;
+
+    public PriorityBucketReadyQueue(ProcessTable processes) {
+        this.processes = processes;
+    }
+
+    @Override
+    public void offer(Process p) {
+        int level = Math.max(0, p.priority());
+        if (level >= buckets.length) grow(level);
+        if (buckets[level] == null) buckets[level] = new IntrusiveList(processes, processes.newOwner(this, 1));
+        buckets[level].addLast(p.pid());
+        if (level > top) top = level;
+        size++;
+    }
+
+    @Override
+    public Process poll() {
+        IntrusiveList bucket = topBucket();
+        if (bucket == null) return null;
+        size--;
+        return processes.get(bucket.removeFirst());
+    }
+
+    @Override
+    public Process peek() {
+        IntrusiveList bucket = topBucket();
+        return (bucket == null) ? null : processes.get(bucket.first());
+    }
+
+    @Override
+    public boolean remove(Process p) {
+        IntrusiveList bucket = bucketOf(p);
+        if (bucket == null || !bucket.remove(p.pid())) return false;
+        size--;
+        return true;
+    }
+
+    @Override
+    public boolean contains(Process p) {
+        IntrusiveList bucket = bucketOf(p);
+        return bucket != null && bucket.contains(p.pid());
+    }
+
+    /**
+     * El nivel se deduce de la prioridad, que no cambia mientras el proceso
+     * está en cola.
+     */
+    private IntrusiveList bucketOf(Process p) {
+        int level = Math.max(0, p.priority());
+        return (level < buckets.length) ? buckets[level] : null;
+    }
+
+    @Override
+    public int size() { return size; }
+
+    @Override
+    public boolean isEmpty() { return size == 0; }
+
+    @Override
+    public LinkedList<Process> toLinkedList() {
+        LinkedList<Process> res = new LinkedList<>();
+        for (int level = top; level >= 0; level--) {
+            if (buckets[level] == null) continue;
+            buckets[level].forEach(pid -> res.addLast(processes.get(pid)));
+        }
+        return res;
+    }
+
+    /**
+     * Baja el índice "top" hasta el primer nivel no vacío.
+     */
+    private IntrusiveList topBucket() {
+        if (size == 0) {
+            top = -1;
+            return null;
+        }
+        while (buckets[top] == null || buckets[top].isEmpty()) top--;
+        return buckets[top];
+    }
+
+    private void grow(int level) {
+        int newCap = buckets.length;
+        while (newCap <= level) newCap <<= 1;
+        buckets = Arrays.copyOf(buckets, newCap);
+    }
+
+    @Override
+    public String toString() { return toLinkedList().toString(); }
+}
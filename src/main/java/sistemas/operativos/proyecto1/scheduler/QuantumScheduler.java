@@ -0,0 +1,64 @@
+package sistemas.operativos.proyecto1.scheduler;
+
+import sistemas.operativos.proyecto1.Config;
+import sistemas.operativos.proyecto1.Stats;
+import sistemas.operativos.proyecto1.process.Process;
+
+/**
+ * Base de las políticas con quantum (RR y MFQ). El quantum restante se revisa
+ * después de ejecutar: si ya llegó a 0 se expulsa al proceso, si no se
+ * descuenta uno.
+ *
+ * Cada núcleo tiene su propio planificador, así que el quantum restante vive
+ * aquí y no en {@link Config}. Si el quantum configurado cambia, empieza una
+ * rebanada nueva.
+ * @author Sebastián
+ */
+public abstract class QuantumScheduler extends AbstractScheduler {
+    private int quantum;
+    private int remainingQuantum;
+
+    protected QuantumScheduler(Config config, Stats stats) {
+        super(config, stats);
+        this.quantum = config.getQuantum();
+        this.remainingQuantum = quantum;
+    }
+
+    private void syncQuantum() {
+        int q = config.getQuantum();
+        if (q != quantum) {
+            quantum = q;
+            remainingQuantum = q;
+        }
+    }
+
+    public int remainingQuantum() { return remainingQuantum; }
+
+    /**
+     * Restablece el quantum restante (al reanudar desde un punto de control).
+     */
+    public void setRemainingQuantum(int remaining) { this.remainingQuantum = Math.max(0, remaining); }
+
+    @Override
+    public boolean onTick(Process running) {
+        syncQuantum();
+        if (remainingQuantum == 0) {
+            remainingQuantum = quantum;
+            return true;
+        }
+        remainingQuantum--;
+        return false;
+    }
+
+    @Override
+    public void onFinish(Process p) { remainingQuantum = quantum; }
+
+    @Override
+    public long quietTicks() {
+        syncQuantum();
+        return remainingQuantum;
+    }
+
+    @Override
+    public void onTicks(long ticks) { remainingQuantum = (int) Math.max(0, remainingQuantum - ticks); }
+}
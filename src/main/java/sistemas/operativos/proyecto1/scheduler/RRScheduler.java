@@ -0,0 +1,30 @@
+package sistemas.operativos.proyecto1.scheduler;
+
+import sistemas.operativos.proyecto1.Config;
+import sistemas.operativos.proyecto1.PlanPolicy;
+import sistemas.operativos.proyecto1.Stats;
+import sistemas.operativos.proyecto1.process.ProcessTable;
+
+/**
+ * Política de planificación RR (Round Robin)
+ * 
+ * Se ejecutan los procesos con un valor "Quantum" asignado a cada uno de
+ * los procesos de forma equitativa, y por cada ciclo se va disminuyendo en
+ * uno. Si el "Quantum" del proceso llega a 0, se expulsa del CPU y se añade
+ * al final de la cola de listos.
+ * @author Sebastián
+ */
+public final class RRScheduler extends QuantumScheduler {
+    public RRScheduler(Config config, Stats stats) {
+        super(config, stats);
+    }
+
+    @Override
+    public PlanPolicy policy() { return PlanPolicy.RR; }
+
+    @Override
+    public String name() { return "Round Robin"; }
+
+    @Override
+    public ReadyQueue newReadyQueue(ProcessTable processes) { return new FifoReadyQueue(processes); }
+}
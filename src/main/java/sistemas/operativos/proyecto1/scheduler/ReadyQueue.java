@@ -0,0 +1,57 @@
+package sistemas.operativos.proyecto1.scheduler;
+
+import sistemas.operativos.proyecto1.lib.LinkedList;
+import sistemas.operativos.proyecto1.process.Process;
+
+/**
+ * Cola de listos. Cada política de planificación usa la estructura que le
+ * permite despachar en O(1) u O(log n). Las colas guardan pids, enlazados
+ * en la {@link sistemas.operativos.proyecto1.process.ProcessTable}, y
+ * devuelven el proceso de la tabla (en modo columnar, una vista nueva).
+ * @author Sebastián
+ */
+public interface ReadyQueue {
+    /**
+     * Añade un proceso a la cola. Lo que la cola usa para ordenarlo
+     * (instrucciones, prioridad) no debe cambiar mientras esté en ella; los
+     * planificadores lo cambian sólo con el proceso fuera de la cola.
+     * @param p Proceso listo.
+     */
+    void offer(Process p);
+
+    /**
+     * Saca el siguiente proceso a despachar.
+     * @return El proceso, o null si la cola está vacía.
+     */
+    Process poll();
+
+    /**
+     * Consulta el siguiente proceso a despachar sin sacarlo.
+     * @return El proceso, o null si la cola está vacía.
+     */
+    Process peek();
+
+    /**
+     * Elimina un proceso arbitrario de la cola.
+     * @param p Proceso a eliminar.
+     * @return Booleano determinando si el proceso estaba en la cola.
+     */
+    boolean remove(Process p);
+
+    /**
+     * Determina si un proceso está en la cola, en O(1).
+     * @param p Proceso.
+     * @return Booleano determinando si el proceso está en la cola.
+     */
+    boolean contains(Process p);
+
+    int size();
+
+    boolean isEmpty();
+
+    /**
+     * Copia de los procesos en cola, para mostrarlos en la interfaz.
+     * @return Lista con los procesos (el orden depende de la estructura).
+     */
+    LinkedList<Process> toLinkedList();
+}
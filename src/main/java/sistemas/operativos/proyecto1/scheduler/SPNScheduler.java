@@ -0,0 +1,29 @@
+package sistemas.operativos.proyecto1.scheduler;
+
+import sistemas.operativos.proyecto1.Config;
+import sistemas.operativos.proyecto1.PlanPolicy;
+import sistemas.operativos.proyecto1.Stats;
+import sistemas.operativos.proyecto1.process.ProcessTable;
+
+/**
+ * Política de planificación SPN (Shortest Process Next)
+ * 
+ * Se ejecutan los procesos con la menor cantidad de instrucciones primero,
+ * ejecutando los más pequeños primero y progresivamente ejecutando los
+ * procesos con mayor cantidad de instrucciones.
+ * @author Sebastián
+ */
+public final class SPNScheduler extends AbstractScheduler {
+    public SPNScheduler(Config config, Stats stats) {
+        super(config, stats);
+    }
+
+    @Override
+    public PlanPolicy policy() { return PlanPolicy.SPN; }
+
+    @Override
+    public String name() { return "Shortest Process Next"; }
+
+    @Override
+    public ReadyQueue newReadyQueue(ProcessTable processes) { return new HeapReadyQueue(processes, processes::instructions); }
+}
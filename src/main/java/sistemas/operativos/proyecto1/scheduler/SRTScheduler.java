@@ -0,0 +1,36 @@
+package sistemas.operativos.proyecto1.scheduler;
+
+import sistemas.operativos.proyecto1.Config;
+import sistemas.operativos.proyecto1.PlanPolicy;
+import sistemas.operativos.proyecto1.Stats;
+import sistemas.operativos.proyecto1.process.Process;
+import sistemas.operativos.proyecto1.process.ProcessTable;
+
+/**
+ * Política de planificación SRT (Shortest Remaining Time)
+ * 
+ * Se ejecuta primero el proceso al que le quedan menos instrucciones. Es
+ * expropiativa: si llega a la cola de listos un proceso con menos
+ * instrucciones restantes que el que está en ejecución, éste vuelve a la cola
+ * (con sus instrucciones restantes actuales) y se despacha el nuevo.
+ * @author Sebastián
+ */
+public final class SRTScheduler extends AbstractScheduler {
+    public SRTScheduler(Config config, Stats stats) {
+        super(config, stats);
+    }
+
+    @Override
+    public PlanPolicy policy() { return PlanPolicy.SRT; }
+
+    @Override
+    public String name() { return "Shortest Remaining Time"; }
+
+    @Override
+    public ReadyQueue newReadyQueue(ProcessTable processes) { return new HeapReadyQueue(processes, processes::remaining); }
+
+    @Override
+    public boolean shouldPreempt(Process running, Process candidate) {
+        return candidate.remaining() < running.remaining();
+    }
+}
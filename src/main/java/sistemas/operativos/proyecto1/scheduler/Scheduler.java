@@ -0,0 +1,104 @@
+package sistemas.operativos.proyecto1.scheduler;
+
+import sistemas.operativos.proyecto1.Config;
+import sistemas.operativos.proyecto1.PlanPolicy;
+import sistemas.operativos.proyecto1.Stats;
+import sistemas.operativos.proyecto1.process.Process;
+import sistemas.operativos.proyecto1.process.ProcessTable;
+
+/**
+ * Política de planificación. El CPU tiene un único ciclo de simulación y cada
+ * núcleo le consulta a su planificador en cada punto de decisión.
+ *
+ * Cada política es una clase final pequeña y cada núcleo guarda una sola
+ * instancia a la vez, así que en una corrida cada llamada ve siempre la misma clase y
+ * el JIT puede alinearla.
+ * @author Sebastián
+ */
+public interface Scheduler {
+    PlanPolicy policy();
+
+    /**
+     * Nombre legible de la política.
+     */
+    String name();
+
+    /**
+     * Crea la cola de listos que usa esta política.
+     * @param processes Tabla de procesos, que guarda los enlaces de la cola.
+     */
+    ReadyQueue newReadyQueue(ProcessTable processes);
+
+    /**
+     * Elige el siguiente proceso a despachar y lo saca de la cola.
+     * @param readyQueue Cola de listos (creada con {@link #newReadyQueue(ProcessTable)}).
+     * @return El proceso, o null si no hay ninguno.
+     */
+    Process select(ReadyQueue readyQueue);
+
+    /**
+     * Se consulta cuando llega un proceso a la cola de listos (nuevo o de
+     * vuelta de E/S) mientras otro está en ejecución.
+     * @param running Proceso en ejecución.
+     * @param candidate Mejor proceso de la cola de listos.
+     * @return true si el proceso en ejecución debe ceder el CPU.
+     */
+    boolean shouldPreempt(Process running, Process candidate);
+
+    /**
+     * Se llama después de que el proceso en ejecución ejecutó un ciclo.
+     * @param running Proceso en ejecución.
+     * @return true si el proceso debe ser expulsado (se terminó su quantum).
+     */
+    boolean onTick(Process running);
+
+    /**
+     * Se llama cuando el proceso es expulsado por fin de quantum, antes de
+     * devolverlo a la cola de listos.
+     * @param p Proceso expulsado.
+     */
+    void onQuantumExpiry(Process p);
+
+    /**
+     * Se llama cuando el proceso en ejecución se bloquea por E/S.
+     * @param p Proceso bloqueado.
+     */
+    void onBlock(Process p);
+
+    /**
+     * Se llama cuando el proceso en ejecución termina.
+     * @param p Proceso terminado.
+     */
+    void onFinish(Process p);
+
+    /**
+     * Ciclos que pueden pasar sin que {@link #onTick(Process)} expulse al
+     * proceso en ejecución.
+     */
+    long quietTicks();
+
+    /**
+     * Aplica de una vez varios ciclos sin expulsión (ver
+     * {@link #quietTicks()}).
+     * @param ticks Cantidad de ciclos.
+     */
+    void onTicks(long ticks);
+
+    /**
+     * Crea el planificador de una política.
+     * @param policy Política de planificación.
+     * @param config Configuración del simulador.
+     * @param stats Estadísticas (para el registro de eventos).
+     * @return Planificador.
+     */
+    static Scheduler forPolicy(PlanPolicy policy, Config config, Stats stats) {
+        return switch (policy) {
+            case FCFS -> new FCFSScheduler(config, stats);
+            case RR -> new RRScheduler(config, stats);
+            case SPN -> new SPNScheduler(config, stats);
+            case SRT -> new SRTScheduler(config, stats);
+            case PRI -> new PRIScheduler(config, stats);
+            case MFQ -> new MFQScheduler(config, stats);
+        };
+    }
+}